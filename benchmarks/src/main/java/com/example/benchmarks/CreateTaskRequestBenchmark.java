@@ -0,0 +1,109 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request work of {@code POST /api/tasks} before the database: Bean Validation of a valid and
+ * of an invalid (blank title) {@link CreateTaskRequest}, the DTO-to-entity copy
+ * {@code TaskController.createTask} does, and the three together with the JSON body parse in front.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateTaskRequestBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ObjectMapper objectMapper;
+    private CreateTaskRequest valid;
+    private CreateTaskRequest invalid;
+    private byte[] body;
+
+    @Setup
+    public void setup() throws IOException {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        objectMapper = Fixtures.objectMapper();
+
+        valid = new CreateTaskRequest();
+        valid.setTitle("Prepare quarterly report");
+        valid.setDescription("Collect the numbers from finance and draft the summary slides");
+        valid.setPriority(Priority.HIGH);
+        valid.setStatus(Status.TODO);
+        valid.setDueDate(LocalDateTime.now().plusDays(7));
+
+        invalid = objectMapper.readValue(objectMapper.writeValueAsBytes(valid), CreateTaskRequest.class);
+        invalid.setTitle(" ");
+
+        body = objectMapper.writeValueAsString(valid).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTaskRequest>> validateValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTaskRequest>> validateInvalid() {
+        return validator.validate(invalid);
+    }
+
+    @Benchmark
+    public Task mapToEntity() {
+        return toEntity(valid);
+    }
+
+    @Benchmark
+    public Task parseValidateAndMap() throws IOException {
+        CreateTaskRequest request = objectMapper.readValue(body, CreateTaskRequest.class);
+        if (!validator.validate(request).isEmpty()) {
+            throw new IllegalStateException("fixture should be valid");
+        }
+        return toEntity(request);
+    }
+
+    // Same field copy as TaskController.createTask
+    private static Task toEntity(CreateTaskRequest request) {
+        Task task = new Task();
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setPriority(request.getPriority());
+        task.setStatus(request.getStatus());
+        task.setDueDate(request.getDueDate());
+        task.setUserId(42L);
+        return task;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.TaskServiceApplication;
+import com.example.taskservice.util.VerifiedTokenCache;
+import com.example.userservice.UserServiceApplication;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.support.StandardServletEnvironment;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the services' Spring components outside a Spring context, wired the same way
+ * {@code application.properties} / {@code application.yml} wire them, or boots a whole service
+ * against in-memory H2 when a benchmark needs the persistence layer.
+ */
+final class Fixtures {
+
+    static final String SECRET = "Xc7aKc5h5mHqC2o5hnbxMSp9O9W5hZ8zQ0bnzVJ+5sr3jH/4CflThYqRAG9Xk7zi";
+    static final int EXPIRATION_MS = 86_400_000;
+
+    private Fixtures() {}
+
+    static com.example.userservice.util.JwtUtil userJwtUtil() {
+        com.example.userservice.util.JwtUtil jwtUtil = new com.example.userservice.util.JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION_MS);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    static com.example.taskservice.util.JwtUtil taskJwtUtil(boolean cacheEnabled) {
+        com.example.taskservice.util.JwtUtil jwtUtil = new com.example.taskservice.util.JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION_MS);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCache", new VerifiedTokenCache(cacheEnabled, 10_000, 3600, 30));
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    /** An {@link ObjectMapper} configured like Spring Boot's default one: java.time support, ISO-8601 dates. */
+    static ObjectMapper objectMapper() {
+        return objectMapper(new JsonFactory());
+    }
+
+    /** The same configuration over another encoding, as task-service builds its CBOR and Smile mappers. */
+    static ObjectMapper objectMapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /** task-service with its own configuration, except for an in-memory H2 database and a random port. */
+    static ConfigurableApplicationContext taskServiceContext(String... overrides) {
+        return taskService(overrides).run();
+    }
+
+    /** As {@link #taskServiceContext}, for benchmarks that customize the application before it starts. */
+    static SpringApplicationBuilder taskService(String... overrides) {
+        return service(TaskServiceApplication.class, "application.properties", "tasks-bench", overrides);
+    }
+
+    /** user-service, configured like {@link #taskService}. */
+    static SpringApplicationBuilder userService(String... overrides) {
+        return service(UserServiceApplication.class, "application.yml", "users-bench", overrides);
+    }
+
+    private static SpringApplicationBuilder service(Class<?> application, String configFile, String database,
+                                                    String... overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> settings = new ArrayList<>(List.of(
+                // Both services' configuration files are on the benchmark classpath; read only this one's
+                "spring.config.location=classpath:" + configFile,
+                "server.port=0",
+                // IGNORE_UNKNOWN_SETTINGS: H2 would reject the MySQL-only rewriteBatchedStatements driver property
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.com.example=WARN",
+                "logging.level.org.springframework.security=WARN"));
+        // Later values win, so overrides replace the defaults above
+        settings.addAll(List.of(overrides));
+        for (String setting : settings) {
+            int separator = setting.indexOf('=');
+            properties.put(setting.substring(0, separator), setting.substring(separator + 1));
+        }
+        // Ahead of the service's own configuration file; SpringApplicationBuilder.properties() would rank below it
+        StandardServletEnvironment environment = new StandardServletEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        return new SpringApplicationBuilder(application).environment(environment);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.util.Hs256JwtCodec;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify throughput of {@link Hs256JwtCodec} against jjwt for our token shape. The jjwt
+ * baseline reuses a prebuilt key and parser, so the comparison isolates the codec itself; run with
+ * {@code -prof gc} (the {@code benchmark} profile does) to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtCodecBenchmark {
+
+    private SecretKey key;
+    private JwtParser jjwtParser;
+    private Hs256JwtCodec codec;
+    private String token;
+    private long issuedAt;
+    private long expiresAt;
+
+    @Setup
+    public void setup() {
+        byte[] secret = Fixtures.SECRET.getBytes();
+        key = Keys.hmacShaKeyFor(secret);
+        jjwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        codec = new Hs256JwtCodec(secret);
+        issuedAt = System.currentTimeMillis() / 1000;
+        expiresAt = issuedAt + Fixtures.EXPIRATION_MS / 1000;
+        token = codec.sign("benchmark-user", 42L, issuedAt, expiresAt);
+    }
+
+    @Benchmark
+    public String signJjwt() {
+        return Jwts.builder()
+                .setSubject("benchmark-user")
+                .claim("userId", 42L)
+                .setIssuedAt(new Date(issuedAt * 1000))
+                .setExpiration(new Date(expiresAt * 1000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String signCodec() {
+        return codec.sign("benchmark-user", 42L, issuedAt, expiresAt);
+    }
+
+    @Benchmark
+    public Claims verifyJjwt() {
+        return jjwtParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Hs256JwtCodec.DecodedToken verifyCodec() {
+        return codec.verify(token);
+    }
+}
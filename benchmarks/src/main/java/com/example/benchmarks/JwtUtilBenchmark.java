@@ -0,0 +1,62 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.security.JwtPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification through the services' own {@code JwtUtil} classes, as the login
+ * endpoint and the authentication filters call them: user-service signs at login and verifies
+ * twice per authenticated request, task-service verifies once (cache disabled here; see
+ * {@link TaskJwtCacheBenchmark} for the cached path).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private com.example.userservice.util.JwtUtil userJwtUtil;
+    private com.example.taskservice.util.JwtUtil taskJwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        userJwtUtil = Fixtures.userJwtUtil();
+        taskJwtUtil = Fixtures.taskJwtUtil(false);
+        token = userJwtUtil.generateToken("benchmark-user", 42L);
+    }
+
+    @Benchmark
+    public String userServiceSign() {
+        return userJwtUtil.generateToken("benchmark-user", 42L);
+    }
+
+    @Benchmark
+    public boolean userServiceVerify() {
+        // What user-service's filter does: read the subject, then validate
+        return userJwtUtil.getUsernameFromToken(token) != null && userJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String taskServiceSign() {
+        return taskJwtUtil.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public JwtPrincipal taskServiceVerify() {
+        return taskJwtUtil.parseToken(token);
+    }
+}
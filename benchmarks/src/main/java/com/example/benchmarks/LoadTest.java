@@ -0,0 +1,418 @@
+package com.example.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test of the two-service stack: boots user-service and task-service in this JVM
+ * against in-memory H2, registers and logs in {@code load.users} users over HTTP, seeds each with
+ * {@code load.tasks-per-user} tasks (half of them overdue), then drives the task API with an
+ * open-loop Poisson arrival process of {@code load.rate} requests per second, split across routes by
+ * {@code load.mix}.
+ *
+ * Open loop means requests are sent on schedule whether or not earlier ones have completed, and each
+ * latency is measured from the request's scheduled send time, so a stalled server shows up as latency
+ * instead of silently lowering the offered load. Reads and updates target the seeded tasks; deletes
+ * target tasks created during the run (a delete with none left is sent as a create), so no request
+ * races another for the same row.
+ *
+ * Not a JMH benchmark: run it with {@code -Pload-test}, see the module README.
+ */
+public final class LoadTest {
+
+    /** The driven routes, with the {@code load.mix} key each one is weighted by. */
+    enum Operation {
+        CREATE("create", "POST /api/tasks"),
+        READ("read", "GET /api/tasks/{id}"),
+        UPDATE("update", "PUT /api/tasks/{id}"),
+        DELETE("delete", "DELETE /api/tasks/{id}"),
+        LIST("list", "GET /api/tasks?status&priority"),
+        OVERDUE("overdue", "GET /api/tasks/overdue");
+
+        final String key;
+        final String route;
+
+        Operation(String key, String route) {
+            this.key = key;
+            this.route = route;
+        }
+    }
+
+    private record User(String token, List<Long> seeded, ConcurrentLinkedDeque<Long> created) {}
+
+    private final int userCount = Integer.getInteger("load.users", 100);
+    private final int tasksPerUser = Integer.getInteger("load.tasks-per-user", 20);
+    private final double rate = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private final int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("load.duration-seconds", 60);
+    private final String mixSpec = System.getProperty("load.mix",
+            "create=15,read=25,update=10,delete=5,list=35,overdue=10");
+    private final long seed = Long.getLong("load.seed", 42L);
+    private final String reportFile = System.getProperty("load.report", "target/load-report.json");
+
+    private final ObjectMapper objectMapper = Fixtures.objectMapper();
+    private final Map<Operation, RouteStats> stats = new EnumMap<>(Operation.class);
+    private final ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clientExecutor)
+            .build();
+
+    private String userServiceUrl;
+    private String taskServiceUrl;
+    private List<User> users;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().run();
+        // Tomcat and Hikari threads are gone by now, but the HttpClient's selector may linger
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        Map<Operation, Integer> mix = parseMix(mixSpec);
+        if (userCount < 1 || tasksPerUser < 1 || rate <= 0 || durationSeconds < 1) {
+            throw new IllegalArgumentException("load.users, load.tasks-per-user, load.rate and "
+                    + "load.duration-seconds must be positive");
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new RouteStats());
+        }
+
+        ConfigurableApplicationContext userService = Fixtures.userService().run();
+        ConfigurableApplicationContext taskService = Fixtures.taskService().run();
+        try {
+            userServiceUrl = "http://localhost:" + userService.getEnvironment().getProperty("local.server.port");
+            taskServiceUrl = "http://localhost:" + taskService.getEnvironment().getProperty("local.server.port");
+
+            System.out.printf("Registering %d users and seeding %d tasks each%n", userCount, tasksPerUser);
+            users = setUpUsers();
+
+            System.out.printf("Offering %.0f requests/s for %ds warmup + %ds measurement, mix %s%n",
+                    rate, warmupSeconds, durationSeconds, mix);
+            drive(mix);
+
+            Map<String, Object> report = report();
+            File file = new File(reportFile);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+            System.out.println("Report written to " + file.getAbsolutePath());
+        } finally {
+            taskService.close();
+            userService.close();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    /** Registration and login are BCrypt-bound, so they run a few at a time rather than open-loop. */
+    private List<User> setUpUsers() throws Exception {
+        ExecutorService setup = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<User>> pending = new ArrayList<>(userCount);
+            for (int i = 0; i < userCount; i++) {
+                int index = i;
+                pending.add(setup.submit(() -> setUpUser(index)));
+            }
+            List<User> ready = new ArrayList<>(userCount);
+            for (Future<User> user : pending) {
+                ready.add(user.get());
+            }
+            return ready;
+        } finally {
+            setup.shutdownNow();
+        }
+    }
+
+    private User setUpUser(int index) throws IOException, InterruptedException {
+        String username = "load-user-" + index;
+        String password = "load-password-" + index;
+        expect(201, send(post(userServiceUrl + "/api/auth/register", null,
+                Map.of("username", username, "email", username + "@example.com", "password", password))));
+        HttpResponse<String> login = expect(200, send(post(userServiceUrl + "/api/auth/login", null,
+                Map.of("username", username, "password", password))));
+        String token = objectMapper.readTree(login.body()).get("token").asText();
+
+        List<Long> seeded = new ArrayList<>(tasksPerUser);
+        for (int i = 0; i < tasksPerUser; i++) {
+            // Every other task is already overdue, so the overdue route has rows to return
+            LocalDateTime due = LocalDateTime.now().plusDays(i % 2 == 0 ? -1 - i : 1 + i);
+            HttpResponse<String> created = expect(201,
+                    send(post(taskServiceUrl + "/api/tasks", token, taskBody("Seeded task " + i, i, due))));
+            seeded.add(objectMapper.readTree(created.body()).get("id").asLong());
+        }
+        return new User(token, List.copyOf(seeded), new ConcurrentLinkedDeque<>());
+    }
+
+    /** Sends requests on a Poisson schedule until warmup plus measurement have elapsed, then waits for stragglers. */
+    private void drive(Map<Operation, Integer> mix) throws InterruptedException {
+        // Each operation appears in proportion to its weight, so a uniform pick follows the mix
+        Operation[] weighted = mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+        SplittableRandom random = new SplittableRandom(seed);
+        // Registered up front by the driver; each request arrives on send and deregisters on completion
+        Phaser inFlight = new Phaser(1);
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long scheduled = start;
+        while (true) {
+            scheduled += (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            User user = users.get(random.nextInt(users.size()));
+            Operation operation = weighted[random.nextInt(weighted.length)];
+            Long deletable = operation == Operation.DELETE ? user.created().pollFirst() : null;
+            if (operation == Operation.DELETE && deletable == null) {
+                operation = Operation.CREATE;
+            }
+            send(operation, user, deletable, random, scheduled, scheduled >= measureFrom, inFlight);
+        }
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 60, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("Requests still in flight after 60s; they are left out of the report");
+        }
+    }
+
+    private void send(Operation operation, User user, Long deletable, SplittableRandom random,
+                      long scheduled, boolean measured, Phaser inFlight) {
+        long seeded = user.seeded().get(random.nextInt(user.seeded().size()));
+        int variant = random.nextInt(1_000);
+        HttpRequest request = switch (operation) {
+            case CREATE -> post(taskServiceUrl + "/api/tasks", user.token(),
+                    taskBody("Load task " + variant, variant, LocalDateTime.now().plusDays(variant % 30)));
+            case READ -> get(taskServiceUrl + "/api/tasks/" + seeded, user.token());
+            case UPDATE -> authorized(taskServiceUrl + "/api/tasks/" + seeded, user.token())
+                    .header("Content-Type", "application/json")
+                    .PUT(json(taskBody("Updated task " + variant, variant,
+                            LocalDateTime.now().plusDays(variant % 30))))
+                    .build();
+            case DELETE -> authorized(taskServiceUrl + "/api/tasks/" + deletable, user.token()).DELETE().build();
+            case LIST -> get(taskServiceUrl + "/api/tasks?status=TODO&priority=HIGH", user.token());
+            case OVERDUE -> get(taskServiceUrl + "/api/tasks/overdue", user.token());
+        };
+        RouteStats route = stats.get(operation);
+        inFlight.register();
+        http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            try {
+                long latency = System.nanoTime() - scheduled;
+                if (operation == Operation.CREATE && response != null && response.statusCode() == 201) {
+                    try {
+                        user.created().add(objectMapper.readTree(response.body()).get("id").asLong());
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                }
+                if (measured) {
+                    route.record(latency, error != null ? -1 : response.statusCode());
+                }
+            } finally {
+                inFlight.arriveAndDeregister();
+            }
+        });
+    }
+
+    private Map<String, Object> report() {
+        Map<String, Object> routes = new LinkedHashMap<>();
+        System.out.printf("%n%-32s %9s %10s %9s %9s %9s %9s %7s%n",
+                "route", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        RouteStats total = new RouteStats();
+        for (Map.Entry<Operation, RouteStats> entry : stats.entrySet()) {
+            RouteStats route = entry.getValue();
+            total.addAll(route);
+            routes.put(entry.getKey().route, print(entry.getKey().route, route));
+        }
+        Map<String, Object> overall = print("all", total);
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", userCount);
+        config.put("tasksPerUser", tasksPerUser);
+        config.put("rate", rate);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("durationSeconds", durationSeconds);
+        config.put("mix", mixSpec);
+        config.put("seed", seed);
+        config.put("java", Runtime.version().toString());
+        config.put("cpus", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("routes", routes);
+        report.put("all", overall);
+        return report;
+    }
+
+    private Map<String, Object> print(String name, RouteStats route) {
+        long[] latencies = route.sortedLatencies();
+        double throughput = (double) latencies.length / durationSeconds;
+        double p50 = millis(percentile(latencies, 0.5));
+        double p99 = millis(percentile(latencies, 0.99));
+        double p999 = millis(percentile(latencies, 0.999));
+        double max = millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+        Map<Integer, Long> errors = route.errorsByStatus();
+        long errorCount = errors.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("%-32s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %7d%s%n",
+                name, latencies.length, throughput, p50, p99, p999, max, errorCount,
+                errors.isEmpty() ? "" : "  " + errors);
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("requests", latencies.length);
+        row.put("throughput", throughput);
+        row.put("p50Ms", p50);
+        row.put("p99Ms", p99);
+        row.put("p999Ms", p999);
+        row.put("maxMs", max);
+        row.put("errors", errorCount);
+        // Status code, or -1 for requests that failed without a response (connect errors, timeouts)
+        row.put("errorsByStatus", errors);
+        return row;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] weight = part.trim().split("=");
+            Operation operation = Arrays.stream(Operation.values())
+                    .filter(candidate -> candidate.key.equals(weight[0].trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown load.mix operation: " + weight[0]));
+            int value = Integer.parseInt(weight[1].trim());
+            if (value > 0) {
+                mix.put(operation, value);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix gives no operation a positive weight: " + spec);
+        }
+        return mix;
+    }
+
+    private Map<String, Object> taskBody(String title, int variant, LocalDateTime dueDate) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("title", title);
+        body.put("description", "Created by LoadTest");
+        body.put("priority", variant % 3 == 0 ? "HIGH" : variant % 3 == 1 ? "MEDIUM" : "LOW");
+        body.put("status", "TODO");
+        body.put("dueDate", dueDate);
+        return body;
+    }
+
+    private HttpRequest.Builder authorized(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest get(String url, String token) {
+        return authorized(url, token).GET().build();
+    }
+
+    private HttpRequest post(String url, String token, Object body) {
+        return authorized(url, token)
+                .header("Content-Type", "application/json")
+                .POST(json(body))
+                .build();
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> expect(int status, HttpResponse<String> response) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " returned " + response.statusCode() + " during setup: " + response.body());
+        }
+        return response;
+    }
+
+    /** Latencies of one route's measured requests, and its non-2xx responses by status code. */
+    static final class RouteStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Long> errors = new TreeMap<>();
+
+        synchronized void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status < 200 || status >= 300) {
+                errors.merge(status, 1L, Long::sum);
+            }
+        }
+
+        synchronized void addAll(RouteStats other) {
+            long[] theirs = other.sortedLatencies();
+            for (long latency : theirs) {
+                record(latency, 200);
+            }
+            other.errorsByStatus().forEach((status, n) -> errors.merge(status, n, Long::sum));
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized Map<Integer, Long> errorsByStatus() {
+            return new TreeMap<>(errors);
+        }
+    }
+}
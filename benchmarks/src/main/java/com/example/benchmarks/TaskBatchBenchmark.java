@@ -0,0 +1,116 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskBatchRequest;
+import com.example.taskservice.dto.TaskBatchResult;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.service.TaskService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second written by {@code POST /api/tasks/batch}'s service path versus the per-item path
+ * ({@code createTask} once per row), on task-service booted against in-memory H2.
+ *
+ * Read the {@code rows} secondary result: it is rows per second, independent of batch size.
+ * Absolute numbers are H2's; the ratio is what carries over to MySQL, where every per-item
+ * round trip also pays network latency.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskBatchBenchmark {
+
+    private static final long USER_ID = 42L;
+
+    @Param({"1000", "10000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private List<TaskBatchRequest.Operation> creates;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+    }
+
+    @Setup
+    public void setup() {
+        context = Fixtures.taskServiceContext();
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+
+        creates = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            CreateTaskRequest task = new CreateTaskRequest();
+            task.setTitle("Imported task " + i);
+            task.setDescription("Imported by TaskBatchBenchmark");
+            task.setPriority(Priority.values()[i % 3]);
+            task.setStatus(Status.TODO);
+            task.setDueDate(LocalDateTime.now().plusDays(i % 30));
+            creates.add(new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.CREATE, null, task));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTasks() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskBatchResult> batch(Rows rows) {
+        List<TaskBatchResult> results = taskService.applyBatch(USER_ID, creates);
+        rows.rows += batchSize;
+        return results;
+    }
+
+    @Benchmark
+    public Task perItem(Rows rows) {
+        Task last = null;
+        for (TaskBatchRequest.Operation operation : creates) {
+            CreateTaskRequest request = operation.getTask();
+            Task task = new Task();
+            task.setTitle(request.getTitle());
+            task.setDescription(request.getDescription());
+            task.setPriority(request.getPriority());
+            task.setStatus(request.getStatus());
+            task.setDueDate(request.getDueDate());
+            task.setUserId(USER_ID);
+            last = taskService.createTask(task);
+        }
+        rows.rows += batchSize;
+        return last;
+    }
+}
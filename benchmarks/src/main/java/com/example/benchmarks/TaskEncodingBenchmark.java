@@ -0,0 +1,101 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload size and Jackson encode/decode time for each wire format task-service negotiates: a list
+ * of {@code size} {@link TaskView} rows with descriptions (a listing response) written, and the same
+ * tasks as {@link CreateTaskRequest} bodies read back. Mappers share Boot's settings and differ only
+ * in their {@link JsonFactory}, as in {@code BinaryFormatsConfig}. Setup prints the bytes per payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    private ObjectWriter viewWriter;
+    private ObjectReader requestReader;
+    private List<TaskView> views;
+    private byte[] requests;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = Fixtures.objectMapper(switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        });
+        viewWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, TaskView.class));
+        requestReader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class,
+                CreateTaskRequest.class));
+
+        String description = "Follow up with the team about item " + "d".repeat(160);
+        LocalDateTime now = LocalDateTime.now();
+        views = new ArrayList<>(size);
+        List<CreateTaskRequest> bodies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("Task " + i, description, Priority.values()[i % 3], Status.values()[i % 3],
+                    now.plusDays(i % 30), 42L);
+            task.setId((long) i + 1);
+            views.add(TaskView.of(task));
+
+            CreateTaskRequest body = new CreateTaskRequest();
+            body.setTitle(task.getTitle());
+            body.setDescription(task.getDescription());
+            body.setPriority(task.getPriority());
+            body.setStatus(task.getStatus());
+            body.setDueDate(task.getDueDate());
+            bodies.add(body);
+        }
+        requests = mapper.writeValueAsBytes(bodies);
+
+        System.out.printf("%n%s, %d tasks: listing %d bytes, create requests %d bytes%n",
+                format, size, viewWriter.writeValueAsBytes(views).length, requests.length);
+    }
+
+    @Benchmark
+    public byte[] writeTaskViews() throws IOException {
+        return viewWriter.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public List<CreateTaskRequest> readCreateRequests() throws IOException {
+        return requestReader.readValue(requests);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization alone, no database: a list of {@code size} {@link Task} entities (what
+ * single-task and write endpoints return) and the same tasks as lean {@link TaskView} rows (what
+ * listings return), with the {@link ObjectMapper} configured the way Spring Boot configures it.
+ * Descriptions are 200 characters; run with the GC profiler for bytes per list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskJsonBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private List<TaskView> views;
+
+    @Setup
+    public void setup() {
+        objectMapper = Fixtures.objectMapper();
+        String description = "d".repeat(200);
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("Task " + i, description, Priority.values()[i % 3], Status.values()[i % 3],
+                    now.plusDays(i % 30), 42L);
+            task.setId((long) i + 1);
+            tasks.add(task);
+            views.add(TaskView.of(task).withoutDescription());
+        }
+    }
+
+    @Benchmark
+    public byte[] tasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] leanViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(views);
+    }
+}
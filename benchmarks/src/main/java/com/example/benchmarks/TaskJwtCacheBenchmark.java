@@ -0,0 +1,51 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.security.JwtPrincipal;
+import com.example.taskservice.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating a repeat bearer token in task-service: full signature verification versus a
+ * {@code VerifiedTokenCache} hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskJwtCacheBenchmark {
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setup() {
+        uncached = Fixtures.taskJwtUtil(false);
+        cached = Fixtures.taskJwtUtil(true);
+        token = Fixtures.userJwtUtil().generateToken("benchmark-user", 42L);
+        cached.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal fullParse() {
+        return uncached.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal cacheHit() {
+        return cached.parseToken(token);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskBatchRequest;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskSpecifications;
+import com.example.taskservice.service.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and serializing one user's 10k-task list: managed entities (the pre-projection path, run in
+ * a transaction the way open-session-in-view runs it) versus {@code TaskView} projections with and
+ * without the description column. Run with the GC profiler for bytes per list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskListReadBenchmark {
+
+    private static final long USER_ID = 42L;
+    private static final int TASKS = 10_000;
+    private static final Sort BY_ID = Sort.by("id");
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate transactionTemplate;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        context = Fixtures.taskServiceContext();
+        taskRepository = context.getBean(TaskRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        String description = "x".repeat(400);
+        List<TaskBatchRequest.Operation> creates = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            CreateTaskRequest task = new CreateTaskRequest();
+            task.setTitle("Task " + i);
+            task.setDescription(description);
+            task.setPriority(Priority.values()[i % 3]);
+            task.setStatus(Status.values()[i % 3]);
+            task.setDueDate(LocalDateTime.now().plusDays(i % 30));
+            creates.add(new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.CREATE, null, task));
+        }
+        context.getBean(TaskService.class).applyBatch(USER_ID, creates);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] managedEntities() {
+        return transactionTemplate.execute(status -> {
+            List<Task> tasks = taskRepository.findAll(TaskSpecifications.ownedBy(USER_ID), BY_ID);
+            return serialize(tasks);
+        });
+    }
+
+    @Benchmark
+    public byte[] projectionWithDescription() {
+        return serialize(taskRepository.findViews(TaskSpecifications.ownedBy(USER_ID), BY_ID, 0, true));
+    }
+
+    @Benchmark
+    public byte[] projectionLean() {
+        return serialize(taskRepository.findViews(TaskSpecifications.ownedBy(USER_ID), BY_ID, 0, false));
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
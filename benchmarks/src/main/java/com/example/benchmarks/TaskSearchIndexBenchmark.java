@@ -0,0 +1,157 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskBatchRequest;
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.service.TaskSearchIndex;
+import com.example.taskservice.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One user's search over {@code tasks} tasks: {@link TaskSearchIndex} lookups versus the database
+ * substring match the service falls back to (task-service on in-memory H2 with the index disabled).
+ *
+ * Titles and descriptions are drawn from a 5,000-word vocabulary with a skewed (half-normal)
+ * frequency, so common words hit thousands of tasks and rare ones a handful. {@code query} is a
+ * half-typed word ({@code prefix}), a common word ({@code common}), or two words ({@code twoWords}).
+ *
+ * Setup prints the index's heap growth per task, measured around building it after a GC, next to
+ * {@link TaskSearchIndex#estimatedBytes()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskSearchIndexBenchmark {
+
+    private static final long USER_ID = 42L;
+    private static final int VOCABULARY = 5_000;
+    private static final int LIMIT = 50;
+
+    @Param({"50000"})
+    public int tasks;
+
+    @Param({"index", "database"})
+    public String backend;
+
+    @Param({"prefix", "common", "twoWords"})
+    public String query;
+
+    private final Random random = new Random(42);
+    private String[] words;
+    private String q;
+    private TaskSearchIndex index;
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup
+    public void setup() {
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = randomWord();
+        }
+        q = switch (query) {
+            case "prefix" -> words[3].substring(0, 3);
+            case "common" -> words[0];
+            default -> words[1] + " " + words[40];
+        };
+
+        if ("index".equals(backend)) {
+            buildIndex();
+        } else {
+            fillDatabase();
+        }
+    }
+
+    private void buildIndex() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        index = new TaskSearchIndex(true);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= tasks; id++) {
+            index.index(new TaskView(id, text(4, 800), text(25, 1500), Priority.MEDIUM, Status.TODO,
+                    now.plusDays(id % 30), USER_ID, now, now));
+        }
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%nSearch index: %d tasks, measured %d bytes/task, estimated %d bytes/task%n",
+                tasks, (after - before) / tasks, index.estimatedBytes() / tasks);
+    }
+
+    private void fillDatabase() {
+        context = Fixtures.taskServiceContext("tasks.search.enabled=false");
+        taskService = context.getBean(TaskService.class);
+        List<TaskBatchRequest.Operation> creates = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            CreateTaskRequest task = new CreateTaskRequest();
+            task.setTitle(text(4, 800));
+            task.setDescription(text(25, 1500));
+            task.setPriority(Priority.MEDIUM);
+            task.setStatus(Status.TODO);
+            creates.add(new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.CREATE, null, task));
+            if (creates.size() == 10_000) {
+                taskService.applyBatch(USER_ID, creates);
+                creates = new ArrayList<>();
+            }
+        }
+        if (!creates.isEmpty()) {
+            taskService.applyBatch(USER_ID, creates);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public List<TaskView> search() {
+        if (index != null) {
+            return index.search(USER_ID, q, LIMIT);
+        }
+        return taskService.searchTasks(USER_ID, q, LIMIT, false);
+    }
+
+    private String text(int wordCount, int spread) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            int rank = (int) Math.min(VOCABULARY - 1, Math.abs(random.nextGaussian()) * spread);
+            text.append(words[rank]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private String randomWord() {
+        int length = 3 + random.nextInt(7);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
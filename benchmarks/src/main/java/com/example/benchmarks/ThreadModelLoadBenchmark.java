@@ -0,0 +1,199 @@
+package com.example.benchmarks;
+
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.repository.TaskRepository;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * task-service over HTTP under {@code clients} concurrent closed-loop clients, with Tomcat on its
+ * default 200-thread pool versus virtual threads ({@code spring.threads.virtual.enabled}).
+ *
+ * {@code throughput} is completed requests per second across all clients. {@code latency} is the
+ * response time of one more client issuing the same request under that load; read its {@code p0.99}.
+ * The {@code cached} workload is the dashboard's full listing, served from {@code TaskCache}; the
+ * {@code database} workload is a filtered listing that runs a query every time, with each statement
+ * delayed by {@code dbLatencyMs} to stand in for MySQL round trips.
+ *
+ * The {@code virtual} runs need the benchmark to run on Java 21+. At 10k clients raise the open file
+ * limit ({@code ulimit -n}) first; each client holds a connection.
+ */
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModelLoadBenchmark {
+
+    private static final long USER_ID = 42L;
+    private static final int TASKS = 100;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "2000", "10000"})
+    public int clients;
+
+    @Param({"cached", "database"})
+    public String workload;
+
+    @Param({"5"})
+    public int dbLatencyMs;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient http;
+    private HttpRequest request;
+    private final Semaphore completed = new Semaphore(0);
+    private final LongAdder failures = new LongAdder();
+    private volatile boolean running;
+
+    @Setup
+    public void setup() {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            // Spring Boot would silently fall back to platform threads
+            throw new IllegalStateException("Virtual threads need Java 21+, running on " + Runtime.version());
+        }
+        context = Fixtures.taskService(
+                        "spring.threads.virtual.enabled=" + virtual,
+                        // Sized for a production MySQL rather than Hikari's default of 10
+                        "spring.datasource.hikari.maximum-pool-size=50",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000")
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new DatabaseLatency(dbLatencyMs)))
+                .run();
+
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Task("Task " + i, "Seeded by ThreadModelLoadBenchmark", Priority.values()[i % 3],
+                    Status.values()[i % 3], LocalDateTime.now().plusDays(i % 30), USER_ID));
+        }
+        context.getBean(TaskRepository.class).saveAll(tasks);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String path = "cached".equals(workload) ? "/api/tasks" : "/api/tasks?status=TODO";
+        String token = Fixtures.userJwtUtil().generateToken("benchmark-user", USER_ID);
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMinutes(1))
+                .GET()
+                .build();
+
+        // Requests are asynchronous, so a few threads drive any number of clients
+        clientExecutor = Executors.newFixedThreadPool(4);
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        running = true;
+        for (int i = 0; i < clients; i++) {
+            nextRequest();
+        }
+    }
+
+    private void nextRequest() {
+        if (!running) {
+            return;
+        }
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null || response.statusCode() != 200) {
+                failures.increment();
+            }
+            completed.release();
+            nextRequest();
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        completed.drainPermits();
+        failures.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportFailures() {
+        long failed = failures.sum();
+        if (failed > 0) {
+            System.err.println(failed + " requests failed or returned non-200 during this iteration");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        running = false;
+        context.close();
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughput() throws InterruptedException {
+        completed.acquire();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int latency() throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /** Wraps the service's DataSource so every statement waits {@code millis} before executing. */
+    static final class DatabaseLatency implements BeanPostProcessor {
+
+        private final int millis;
+
+        DatabaseLatency(int millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || millis <= 0) {
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .beforeQuery((execInfo, queryInfoList) -> {
+                        try {
+                            Thread.sleep(millis);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    })
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.taskservice.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+public class TaskServiceReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(TaskServiceReactiveApplication.class, args);
+    }
+}
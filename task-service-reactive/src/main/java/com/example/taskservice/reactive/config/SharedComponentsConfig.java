@@ -0,0 +1,15 @@
+package com.example.taskservice.reactive.config;
+
+import com.example.taskservice.util.JwtUtil;
+import com.example.taskservice.util.VerifiedTokenCache;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * task-service components reused as they are: JWT verification with its verified-token cache. They live
+ * outside this application's component scan, so they are imported explicitly.
+ */
+@Configuration
+@Import({JwtUtil.class, VerifiedTokenCache.class})
+public class SharedComponentsConfig {
+}
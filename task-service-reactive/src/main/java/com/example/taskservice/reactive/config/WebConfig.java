@@ -0,0 +1,108 @@
+package com.example.taskservice.reactive.config;
+
+import com.example.taskservice.reactive.security.CurrentUserIdArgumentResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Configuration
+public class WebConfig implements WebFluxConfigurer {
+
+    private static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final CurrentUserIdArgumentResolver currentUserIdArgumentResolver;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public WebConfig(CurrentUserIdArgumentResolver currentUserIdArgumentResolver,
+                     ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.currentUserIdArgumentResolver = currentUserIdArgumentResolver;
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    /**
+     * {@code Vary: Accept} on every {@code /api/tasks} response, whose bodies are all negotiated, so a
+     * shared cache never hands one client's encoding, or its ETag, to a client that asked for another.
+     */
+    @Bean
+    public WebFilter varyByAcceptFilter() {
+        return (exchange, chain) -> {
+            if (exchange.getRequest().getPath().pathWithinApplication().value().startsWith("/api/tasks")) {
+                exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(currentUserIdArgumentResolver);
+    }
+
+    /**
+     * CBOR and Smile next to JSON, as in task-service's {@code BinaryFormatsConfig}: Boot's Jackson
+     * settings with a binary factory. The codec constructors that take a mapper fall back to JSON's
+     * media types unless given their own, so each names its type. Smile replaces WebFlux's default Smile
+     * codecs, which already follow JSON. CBOR has no default slot, and custom codecs come before every
+     * default one, so Boot's JSON codecs are registered again ahead of it: JSON stays the answer to
+     * {@code Accept: *}{@code /*}, and CBOR is only used when a request names {@code application/cbor}.
+     * Every body here is a single value (listings are collected first), which is all CBOR's encoder
+     * supports; {@link SingleValueCborEncoder} lets the writer hand it one.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper json = objectMapperBuilder.getObject().build();
+        ObjectMapper cbor = objectMapperBuilder.getObject().factory(new CBORFactory()).build();
+        ObjectMapper smile = objectMapperBuilder.getObject().factory(new SmileFactory()).build();
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile, APPLICATION_SMILE));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile, APPLICATION_SMILE));
+        configurer.customCodecs().register(new Jackson2JsonEncoder(json));
+        configurer.customCodecs().register(new Jackson2JsonDecoder(json));
+        configurer.customCodecs().register(new SingleValueCborEncoder(cbor));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cbor, MediaType.APPLICATION_CBOR));
+    }
+
+    /**
+     * {@link Jackson2CborEncoder} refuses every {@code encode} call, even for a {@link Mono}, and
+     * WebFlux's message writer always calls {@code encode}; a Mono is written here as its one value.
+     */
+    private static final class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        SingleValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> value) {
+                return value.map(body -> encodeValue(body, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.taskservice.reactive.controller;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.reactive.entity.TaskRow;
+import com.example.taskservice.reactive.service.TaskService;
+import com.example.taskservice.security.CurrentUserId;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The {@code /api/tasks} contract of task-service's {@code TaskController} on WebFlux: same paths,
+ * parameters, status codes, ETags and bodies. {@code POST /batch}, {@code GET /stream},
+ * {@code GET /search}, {@code GET /stats}, {@code GET /export} and {@code POST /import} are only served
+ * by the servlet deployment. {@code ?stream=true} is not bound: the listing it asks for is the same body.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "*")
+public class TaskController {
+    private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
+
+    // Encodings the codecs negotiate, in the order WebConfig registers them
+    private static final List<MediaType> ENCODINGS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"));
+
+    @Autowired
+    private TaskService taskService;
+
+    @GetMapping(path = {"", "/"})
+    public Mono<ResponseEntity<?>> getAllTasks(TaskFilter filter,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String fields,
+                                               @CurrentUserId Long userId,
+                                               ServerWebExchange exchange) {
+        if (userId == null) {
+            return unauthorized();
+        }
+
+        boolean withDescription = TaskView.includesDescription(fields);
+        Mono<ResponseEntity<?>> listing = Mono.defer(() -> {
+            if (cursor != null || limit != null) {
+                return taskService.getTasksPage(userId, filter, cursor, limit, withDescription)
+                        .map(ResponseEntity::ok);
+            }
+            return taskService.findTasks(userId, filter, withDescription)
+                    .collectList()
+                    .map(ResponseEntity::ok);
+        });
+        // Overdue results change with the clock, not only with writes, so they are never tagged.
+        if (Boolean.TRUE.equals(filter.getOverdue())) {
+            return listing;
+        }
+        return unlessNotModified(userId, exchange, listing);
+    }
+
+    @GetMapping("/changes")
+    public Mono<ResponseEntity<?>> getChanges(@RequestParam(required = false) String since,
+                                              @CurrentUserId Long userId) {
+        if (userId == null) {
+            return unauthorized();
+        }
+        return taskService.getChangesSince(userId, since).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getTaskById(@PathVariable Long id, @CurrentUserId Long userId,
+                                               ServerWebExchange exchange) {
+        if (userId == null) {
+            return unauthorized();
+        }
+
+        return taskService.getTaskById(id, userId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .<ResponseEntity<?>>flatMap(task -> {
+                    if (task.isEmpty()) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .body(Map.of("error", "Task not found")));
+                    }
+                    return taskETag(task.get(), userId).flatMap(tag ->
+                            exchange.checkNotModified(representationTag(tag, exchange)) ? Mono.empty()
+                                    : Mono.just(ResponseEntity.ok(task.get())));
+                });
+    }
+
+    @PostMapping(path = {"", "/"})
+    public Mono<ResponseEntity<?>> createTask(@Valid @RequestBody CreateTaskRequest createRequest,
+                                              @CurrentUserId Long userId) {
+        logger.debug("Incoming createTask request: {}", createRequest);
+        if (userId == null) {
+            return unauthorized();
+        }
+
+        return taskService.createTask(createRequest, userId)
+                .<ResponseEntity<?>>map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created))
+                .onErrorResume(e -> {
+                    logger.error("Error creating task", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", String.valueOf(e.getMessage()))));
+                });
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateTask(@PathVariable Long id, @Valid @RequestBody CreateTaskRequest updateRequest,
+                                              @CurrentUserId Long userId) {
+        if (userId == null) {
+            return unauthorized();
+        }
+
+        return taskService.updateTask(id, updateRequest, userId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "Task not found or access denied")));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> deleteTask(@PathVariable Long id, @CurrentUserId Long userId) {
+        if (userId == null) {
+            return unauthorized();
+        }
+
+        return taskService.deleteTask(id, userId)
+                .map(deleted -> deleted
+                        ? ResponseEntity.ok(Map.of("message", "Task deleted successfully"))
+                        : ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Task not found or access denied")));
+    }
+
+    @GetMapping("/status/{status}")
+    public Mono<ResponseEntity<?>> getTasksByStatus(@PathVariable Status status,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String fields,
+                                                    @CurrentUserId Long userId,
+                                                    ServerWebExchange exchange) {
+        if (userId == null) {
+            return unauthorized();
+        }
+
+        boolean withDescription = TaskView.includesDescription(fields);
+        return unlessNotModified(userId, exchange, Mono.defer(() -> {
+            if (cursor != null || limit != null) {
+                TaskFilter filter = new TaskFilter();
+                filter.setStatus(status);
+                return taskService.getTasksPage(userId, filter, cursor, limit, withDescription)
+                        .map(ResponseEntity::ok);
+            }
+            return taskService.getTasksByStatus(userId, status, withDescription)
+                    .collectList()
+                    .map(ResponseEntity::ok);
+        }));
+    }
+
+    @GetMapping("/overdue")
+    public Mono<ResponseEntity<?>> getOverdueTasks(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) String fields,
+                                                   @CurrentUserId Long userId) {
+        if (userId == null) {
+            return unauthorized();
+        }
+
+        boolean withDescription = TaskView.includesDescription(fields);
+        if (cursor != null || limit != null) {
+            return taskService.getOverdueTasksPage(userId, cursor, limit, withDescription)
+                    .map(ResponseEntity::ok);
+        }
+        return taskService.getOverdueTasks(userId, withDescription)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    private static Mono<ResponseEntity<?>> unauthorized() {
+        return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Invalid or missing token")));
+    }
+
+    // Same strong ETag as the servlet controller: id plus last modification time, down to the nanosecond.
+    private Mono<String> taskETag(TaskRow task, Long userId) {
+        LocalDateTime modified = task.getUpdatedAt() != null ? task.getUpdatedAt() : task.getCreatedAt();
+        if (modified == null) {
+            return taskService.getTasksVersion(userId);
+        }
+        return Mono.just(task.getId() + "." + modified.toEpochSecond(ZoneOffset.UTC) + "." + modified.getNano());
+    }
+
+    // The collection version is read before the listing it tags, which is only subscribed to when the
+    // client's copy is stale.
+    private Mono<ResponseEntity<?>> unlessNotModified(Long userId, ServerWebExchange exchange,
+                                                      Mono<ResponseEntity<?>> listing) {
+        return taskService.getTasksVersion(userId)
+                .flatMap(version -> exchange.checkNotModified(representationTag(version, exchange))
+                        ? Mono.empty() : listing);
+    }
+
+    // Same per-encoding tags as the servlet controller: JSON keeps the plain tag, CBOR and Smile append
+    // their subtype, so a tag sent with one encoding never answers 304 for another.
+    private static String representationTag(String tag, ServerWebExchange exchange) {
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(exchange.getRequest().getHeaders().getAccept());
+        } catch (InvalidMediaTypeException e) {
+            return tag;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            for (MediaType encoding : ENCODINGS) {
+                if (encoding.isCompatibleWith(mediaType)) {
+                    return encoding == ENCODINGS.get(0) ? tag : tag + "." + encoding.getSubtype();
+                }
+            }
+        }
+        return tag;
+    }
+}
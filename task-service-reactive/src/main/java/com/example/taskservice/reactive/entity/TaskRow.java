@@ -0,0 +1,120 @@
+package com.example.taskservice.reactive.entity;
+
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code tasks} table owned by task-service's {@code Task} entity. Serializes to
+ * the same JSON as {@code Task}. The generated {@code is_open} column is only queried, never mapped.
+ */
+@Table("tasks")
+public class TaskRow {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private Priority priority;
+
+    private Status status;
+
+    @Column("due_date")
+    private LocalDateTime dueDate;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    public TaskRow() {}
+
+    public TaskView toView(boolean withDescription) {
+        return new TaskView(id, title, withDescription ? description : null, priority, status, dueDate, userId,
+                createdAt, updatedAt);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
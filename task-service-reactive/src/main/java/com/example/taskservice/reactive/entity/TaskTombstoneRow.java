@@ -0,0 +1,49 @@
+package com.example.taskservice.reactive.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/** R2DBC mapping of {@code task_tombstones}; see task-service's {@code TaskTombstone}. */
+@Table("task_tombstones")
+public class TaskTombstoneRow {
+
+    @Id
+    private Long id;
+
+    @Column("task_id")
+    private Long taskId;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Column("deleted_at")
+    private LocalDateTime deletedAt;
+
+    public TaskTombstoneRow() {}
+
+    public TaskTombstoneRow(Long id, Long taskId, Long userId, LocalDateTime deletedAt) {
+        this.id = id;
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
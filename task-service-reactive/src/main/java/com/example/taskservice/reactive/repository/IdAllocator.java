@@ -0,0 +1,80 @@
+package com.example.taskservice.reactive.repository;
+
+import com.example.taskservice.entity.IdGenerators;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out ids from the {@code id_generators} table the same way Hibernate's pooled table generator
+ * does in task-service, so both deployments can write to one database without colliding: reading
+ * {@code next_val = V} and advancing it by {@link IdGenerators#ALLOCATION_SIZE} reserves the block
+ * {@code [V - ALLOCATION_SIZE + 1, V]}.
+ *
+ * The advance is a compare-and-set UPDATE, retried when another instance moved the row first.
+ */
+@Component
+public class IdAllocator {
+
+    private final DatabaseClient databaseClient;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public IdAllocator(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Long> next(String segment) {
+        Block block = blocks.computeIfAbsent(segment, key -> new Block());
+        long id = block.take();
+        if (id > 0) {
+            return Mono.just(id);
+        }
+        return reserve(segment).map(block::refill);
+    }
+
+    private Mono<Long> reserve(String segment) {
+        return databaseClient.sql("SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+                        + " WHERE " + IdGenerators.NAME_COLUMN + " = :segment")
+                .bind("segment", segment)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("No " + IdGenerators.TABLE + " row for '"
+                        + segment + "'; start task-service once against this database to initialize it")))
+                .flatMap(current -> databaseClient.sql("UPDATE " + IdGenerators.TABLE + " SET "
+                                + IdGenerators.VALUE_COLUMN + " = :next WHERE " + IdGenerators.NAME_COLUMN
+                                + " = :segment AND " + IdGenerators.VALUE_COLUMN + " = :current")
+                        .bind("next", current + IdGenerators.ALLOCATION_SIZE)
+                        .bind("segment", segment)
+                        .bind("current", current)
+                        .fetch()
+                        .rowsUpdated()
+                        .flatMap(updated -> updated == 1 ? Mono.just(current) : Mono.<Long>empty()))
+                // Lost the race to another writer: read the new value and try again
+                .repeatWhenEmpty(10, attempts -> attempts);
+    }
+
+    private static final class Block {
+
+        private long next = 1;
+        private long last = 0;
+
+        /** The next id of the current block, or -1 when it is used up. */
+        synchronized long take() {
+            return next <= last ? next++ : -1;
+        }
+
+        /** Starts handing out the reserved block ending at {@code reservedLast}; returns its first id. */
+        synchronized long refill(long reservedLast) {
+            long first = reservedLast - IdGenerators.ALLOCATION_SIZE + 1;
+            // If a concurrent refill already replaced the block, use one id of ours and drop the rest.
+            if (next > last) {
+                next = first + 1;
+                last = reservedLast;
+            }
+            return first;
+        }
+    }
+}
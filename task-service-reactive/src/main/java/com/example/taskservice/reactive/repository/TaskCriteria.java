@@ -0,0 +1,87 @@
+package com.example.taskservice.reactive.repository;
+
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import org.springframework.data.relational.core.query.Criteria;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * The predicates of task-service's {@code TaskSpecifications} as R2DBC {@link Criteria}, so both
+ * stacks answer a filter with the same WHERE clause and the same indexes.
+ */
+public final class TaskCriteria {
+
+    private TaskCriteria() {}
+
+    /** Everything {@code filter} asks for, always scoped to {@code userId}. */
+    public static Criteria matching(Long userId, TaskFilter filter, LocalDateTime now) {
+        Criteria criteria = ownedBy(userId);
+        if (filter == null) {
+            return criteria;
+        }
+        if (filter.getStatus() != null) {
+            criteria = criteria.and(hasStatus(filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            criteria = criteria.and(hasPriority(filter.getPriority()));
+        }
+        if (filter.getDueFrom() != null) {
+            criteria = criteria.and(Criteria.where("dueDate").greaterThanOrEquals(filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            criteria = criteria.and(Criteria.where("dueDate").lessThanOrEquals(filter.getDueTo()));
+        }
+        if (Boolean.TRUE.equals(filter.getOverdue())) {
+            criteria = criteria.and(overdue(now));
+        }
+        if (filter.getQ() != null && !filter.getQ().isBlank()) {
+            criteria = criteria.and(textContains(filter.getQ()));
+        }
+        return criteria;
+    }
+
+    public static Criteria ownedBy(Long userId) {
+        return Criteria.where("userId").is(userId);
+    }
+
+    public static Criteria hasStatus(Status status) {
+        return Criteria.where("status").is(status.name());
+    }
+
+    public static Criteria hasPriority(Priority priority) {
+        return Criteria.where("priority").is(priority.name());
+    }
+
+    /** Open (not DONE) and past due, on the is_open generated column like the servlet query. */
+    public static Criteria overdue(LocalDateTime now) {
+        return Criteria.where("is_open").isTrue().and("dueDate").lessThan(now);
+    }
+
+    public static Criteria textContains(String text) {
+        String pattern = "%" + escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return Criteria.where("title").like(pattern).ignoreCase(true)
+                .or(Criteria.where("description").like(pattern).ignoreCase(true));
+    }
+
+    public static Criteria updatedAfter(LocalDateTime since) {
+        return Criteria.where("updatedAt").greaterThan(since);
+    }
+
+    /** Keyset seek for listings ordered by id. */
+    public static Criteria idAfter(Long afterId) {
+        return Criteria.where("id").greaterThan(afterId);
+    }
+
+    /** Keyset seek for listings ordered by (dueDate, id). */
+    public static Criteria dueDateAfter(LocalDateTime afterDueDate, Long afterId) {
+        return Criteria.where("dueDate").greaterThan(afterDueDate)
+                .or(Criteria.where("dueDate").is(afterDueDate).and("id").greaterThan(afterId));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.taskservice.reactive.repository;
+
+import com.example.taskservice.reactive.entity.TaskRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of task-service's {@code TaskRepository}: the same ownership-checked single
+ * statements. Filtered listings are built from {@link TaskCriteria}. Inserts go through
+ * {@code R2dbcEntityTemplate#insert}, because ids are assigned up front by {@link IdAllocator} and
+ * {@code save} would treat a row with an id as an update.
+ */
+public interface TaskRowRepository extends ReactiveCrudRepository<TaskRow, Long> {
+
+    Mono<TaskRow> findByIdAndUserId(Long id, Long userId);
+
+    // Enums are bound by name, as the servlet side stores them (EnumType.STRING)
+    @Modifying
+    @Query("UPDATE tasks SET title = :title, description = :description, priority = :priority, status = :status, "
+            + "due_date = :dueDate, updated_at = :updatedAt WHERE id = :id AND user_id = :userId")
+    Mono<Integer> updateOwned(Long id, Long userId, String title, String description, String priority,
+                              String status, LocalDateTime dueDate, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM tasks WHERE id = :id AND user_id = :userId")
+    Mono<Integer> deleteOwned(Long id, Long userId);
+}
@@ -0,0 +1,19 @@
+package com.example.taskservice.reactive.repository;
+
+import com.example.taskservice.reactive.entity.TaskTombstoneRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface TaskTombstoneRowRepository extends ReactiveCrudRepository<TaskTombstoneRow, Long> {
+
+    Flux<TaskTombstoneRow> findByUserIdAndDeletedAtAfter(Long userId, LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM task_tombstones WHERE deleted_at < :cutoff")
+    Mono<Integer> deleteOlderThan(LocalDateTime cutoff);
+}
@@ -0,0 +1,38 @@
+package com.example.taskservice.reactive.security;
+
+import com.example.taskservice.security.CurrentUserId;
+import com.example.taskservice.security.JwtPrincipal;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves {@link CurrentUserId} parameters from the reactive security context, as
+ * task-service's resolver does from the servlet one. Empty (a {@code null} argument) when the
+ * exchange is not authenticated or the token carries no user id.
+ */
+@Component
+public class CurrentUserIdArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUserId.class)
+                && Long.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    @NonNull
+    public Mono<Object> resolveArgument(@NonNull MethodParameter parameter, @NonNull BindingContext bindingContext,
+                                        @NonNull ServerWebExchange exchange) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.getPrincipal() instanceof JwtPrincipal)
+                .mapNotNull(authentication -> ((JwtPrincipal) authentication.getPrincipal()).getUserId());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.taskservice.reactive.security;
+
+import com.example.taskservice.security.JwtPrincipal;
+import com.example.taskservice.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+/**
+ * Reactive equivalent of task-service's {@code JwtAuthenticationFilter}: verifies the bearer token with
+ * the same {@link JwtUtil} (and its verified-token cache) and, when valid, authenticates the exchange
+ * with a {@link JwtPrincipal}. Invalid or missing tokens leave the exchange anonymous so the
+ * authorization rules reject it. Verification is CPU-only, so it runs inline on the event loop.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationWebFilter.class);
+
+    private final JwtUtil jwtUtil;
+
+    public JwtAuthenticationWebFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        JwtPrincipal principal = null;
+        try {
+            principal = jwtUtil.parseToken(authorizationHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.error("JWT token is invalid or expired", e);
+        }
+        if (principal == null || principal.getUsername() == null) {
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authToken));
+    }
+}
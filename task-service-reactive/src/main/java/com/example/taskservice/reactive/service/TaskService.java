@@ -0,0 +1,233 @@
+package com.example.taskservice.reactive.service;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskChanges;
+import com.example.taskservice.dto.TaskCursor;
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.dto.TaskPage;
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.reactive.entity.TaskRow;
+import com.example.taskservice.reactive.entity.TaskTombstoneRow;
+import com.example.taskservice.reactive.repository.IdAllocator;
+import com.example.taskservice.reactive.repository.TaskCriteria;
+import com.example.taskservice.reactive.repository.TaskRowRepository;
+import com.example.taskservice.reactive.repository.TaskTombstoneRowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of task-service's {@code TaskService}, with the same results for the same
+ * requests. There is no in-process task cache here: listings are read from the database each time.
+ */
+@Service
+public class TaskService {
+
+    private static final Sort BY_ID = Sort.by("id");
+    private static final Sort BY_DUE_DATE = Sort.by("dueDate", "id");
+    private static final Sort BY_UPDATED_AT = Sort.by("updatedAt", "id");
+    // Everything but the description, for lean listings
+    private static final String[] LEAN_COLUMNS = {
+            "id", "title", "priority", "status", "dueDate", "userId", "createdAt", "updatedAt"};
+
+    @Autowired
+    private TaskRowRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRowRepository tombstoneRepository;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Autowired
+    private IdAllocator idAllocator;
+
+    @Autowired
+    private TaskVersions taskVersions;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Value("${tasks.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${tasks.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${tasks.changes.grace-seconds:5}")
+    private long changesGraceSeconds;
+
+    @Value("${tasks.changes.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays;
+
+    /** See task-service's {@code TaskService#getTasksVersion}; read it before the listing it tags. */
+    public Mono<String> getTasksVersion(Long userId) {
+        return taskVersions.current(userId);
+    }
+
+    public Flux<TaskView> findTasks(Long userId, TaskFilter filter, boolean withDescription) {
+        return findViews(TaskCriteria.matching(userId, filter, LocalDateTime.now()), BY_ID, 0, withDescription);
+    }
+
+    public Flux<TaskView> getTasksByStatus(Long userId, Status status, boolean withDescription) {
+        return findViews(TaskCriteria.ownedBy(userId).and(TaskCriteria.hasStatus(status)), BY_ID, 0, withDescription);
+    }
+
+    public Flux<TaskView> getOverdueTasks(Long userId, boolean withDescription) {
+        return findViews(TaskCriteria.ownedBy(userId).and(TaskCriteria.overdue(LocalDateTime.now())),
+                BY_ID, 0, withDescription);
+    }
+
+    public Mono<TaskRow> getTaskById(Long id, Long userId) {
+        return taskRepository.findByIdAndUserId(id, userId);
+    }
+
+    /** The INSERT and the version increment, in one transaction; the id is reserved before it starts. */
+    public Mono<TaskRow> createTask(CreateTaskRequest request, Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return idAllocator.next("tasks")
+                .flatMap(id -> {
+                    TaskRow task = new TaskRow();
+                    task.setId(id);
+                    copyFields(request, task);
+                    task.setUserId(userId);
+                    task.setCreatedAt(now);
+                    task.setUpdatedAt(now);
+                    return transactionalOperator.transactional(template.insert(task)
+                            .flatMap(saved -> taskVersions.increment(userId).thenReturn(saved)));
+                });
+    }
+
+    /**
+     * One ownership-checked UPDATE and the version increment in one transaction, then a re-read for the
+     * response; empty if the user does not own it.
+     */
+    public Mono<TaskRow> updateTask(Long id, CreateTaskRequest request, Long userId) {
+        Mono<Integer> update = taskRepository.updateOwned(id, userId, request.getTitle(), request.getDescription(),
+                        request.getPriority().name(), request.getStatus().name(), request.getDueDate(),
+                        LocalDateTime.now())
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> taskVersions.increment(userId).thenReturn(updated));
+        return transactionalOperator.transactional(update)
+                .flatMap(updated -> taskRepository.findByIdAndUserId(id, userId));
+    }
+
+    /**
+     * Ownership-checked DELETE plus its tombstone and the version increment, in one transaction; emits
+     * false if nothing was deleted.
+     */
+    public Mono<Boolean> deleteTask(Long id, Long userId) {
+        Mono<Boolean> delete = taskRepository.deleteOwned(id, userId)
+                .flatMap(deleted -> deleted == 0 ? Mono.just(false)
+                        : idAllocator.next("task_tombstones")
+                                .flatMap(tombstoneId -> template.insert(
+                                        new TaskTombstoneRow(tombstoneId, id, userId, LocalDateTime.now())))
+                                .then(taskVersions.increment(userId))
+                                .thenReturn(true));
+        return transactionalOperator.transactional(delete);
+    }
+
+    /** See task-service's {@code TaskService#getChangesSince}. */
+    public Mono<TaskChanges> getChangesSince(Long userId, String since) {
+        LocalDateTime now = LocalDateTime.now();
+        String watermark = TaskCursor.encodeWatermark(now.minusSeconds(changesGraceSeconds));
+        LocalDateTime from = since != null ? TaskCursor.decodeWatermark(since) : null;
+
+        if (from == null || from.isBefore(now.minusDays(tombstoneRetentionDays))) {
+            return findViews(TaskCriteria.ownedBy(userId), BY_ID, 0, true)
+                    .collectList()
+                    .map(all -> new TaskChanges(all, List.of(), watermark, true));
+        }
+
+        Mono<List<TaskView>> changed = findViews(
+                TaskCriteria.ownedBy(userId).and(TaskCriteria.updatedAfter(from)), BY_UPDATED_AT, 0, true)
+                .collectList();
+        Mono<List<Long>> deletedIds = tombstoneRepository.findByUserIdAndDeletedAtAfter(userId, from)
+                .map(TaskTombstoneRow::getTaskId)
+                .collectList();
+        return Mono.zip(changed, deletedIds)
+                .map(both -> new TaskChanges(both.getT1(), both.getT2(), watermark, false));
+    }
+
+    public Mono<Integer> purgeTombstones() {
+        return tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+    }
+
+    /** Keyset-paginated listing ordered by id; see task-service's {@code TaskService#getTasksPage}. */
+    public Mono<TaskPage> getTasksPage(Long userId, TaskFilter filter, String cursor, Integer limit,
+                                       boolean withDescription) {
+        int pageSize = resolvePageSize(limit);
+        Criteria criteria = TaskCriteria.matching(userId, filter, LocalDateTime.now());
+        if (cursor != null) {
+            criteria = criteria.and(TaskCriteria.idAfter(TaskCursor.decodeById(cursor).getAfterId()));
+        }
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        return findViews(criteria, BY_ID, pageSize + 1, withDescription)
+                .collectList()
+                .map(rows -> toPage(rows, pageSize, last -> TaskCursor.encodeById(last.id())));
+    }
+
+    /** Keyset-paginated overdue listing ordered by due date, then id. */
+    public Mono<TaskPage> getOverdueTasksPage(Long userId, String cursor, Integer limit, boolean withDescription) {
+        int pageSize = resolvePageSize(limit);
+        Criteria criteria = TaskCriteria.ownedBy(userId).and(TaskCriteria.overdue(LocalDateTime.now()));
+        if (cursor != null) {
+            TaskCursor after = TaskCursor.decodeByDueDate(cursor);
+            criteria = criteria.and(TaskCriteria.dueDateAfter(after.getAfterDueDate(), after.getAfterId()));
+        }
+        return findViews(criteria, BY_DUE_DATE, pageSize + 1, withDescription)
+                .collectList()
+                .map(rows -> toPage(rows, pageSize, last -> TaskCursor.encodeByDueDate(last.dueDate(), last.id())));
+    }
+
+    // Mirrors TaskQueryRepository#findViews: one SELECT, without the description column unless asked for.
+    private Flux<TaskView> findViews(Criteria criteria, Sort sort, int limit, boolean withDescription) {
+        Query query = Query.query(criteria).sort(sort);
+        if (!withDescription) {
+            query = query.columns(LEAN_COLUMNS);
+        }
+        if (limit > 0) {
+            query = query.limit(limit);
+        }
+        return template.select(TaskRow.class)
+                .matching(query)
+                .all()
+                .map(row -> row.toView(withDescription));
+    }
+
+    private static void copyFields(CreateTaskRequest source, TaskRow target) {
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        target.setPriority(source.getPriority());
+        target.setStatus(source.getStatus());
+        target.setDueDate(source.getDueDate());
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static TaskPage toPage(List<TaskView> rows, int pageSize, Function<TaskView, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new TaskPage(rows, null);
+        }
+        List<TaskView> content = new ArrayList<>(rows.subList(0, pageSize));
+        return new TaskPage(content, cursorOf.apply(content.get(pageSize - 1)));
+    }
+}
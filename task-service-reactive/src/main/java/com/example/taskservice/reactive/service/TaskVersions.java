@@ -0,0 +1,38 @@
+package com.example.taskservice.reactive.service;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of task-service's {@code TaskVersions}, on the same {@code task_versions} rows,
+ * so listing ETags agree between the two deployments and a write through either one changes them.
+ * There is no task cache here, so nothing to drop when the version moves.
+ */
+@Component
+public class TaskVersions {
+
+    private final DatabaseClient databaseClient;
+
+    public TaskVersions(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /** Opaque version of {@code userId}'s task collection, e.g. {@code "42"}. */
+    public Mono<String> current(Long userId) {
+        return databaseClient.sql("SELECT version FROM task_versions WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L)
+                .map(version -> Long.toString(version));
+    }
+
+    /** Increments the user's version, creating its row on the first write; run it in the write's transaction. */
+    public Mono<Void> increment(Long userId) {
+        return databaseClient.sql("INSERT INTO task_versions (user_id, version) VALUES (:userId, 1) "
+                        + "ON DUPLICATE KEY UPDATE version = version + 1")
+                .bind("userId", userId)
+                .then();
+    }
+}
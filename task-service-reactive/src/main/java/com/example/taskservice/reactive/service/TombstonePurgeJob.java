@@ -0,0 +1,25 @@
+package com.example.taskservice.reactive.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TombstonePurgeJob {
+    private static final Logger logger = LoggerFactory.getLogger(TombstonePurgeJob.class);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Scheduled(fixedDelayString = "${tasks.changes.purge-interval-ms:3600000}",
+               initialDelayString = "${tasks.changes.purge-interval-ms:3600000}")
+    public void purge() {
+        // Runs on the scheduler thread, never an event loop, so waiting for the DELETE is fine
+        Integer purged = taskService.purgeTombstones().block();
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} expired task tombstones", purged);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.taskservice.reactive;
+
+import com.example.taskservice.TaskApiContract;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs task-service's {@link TaskApiContract} against the WebFlux deployment, on H2 with schema.sql. MySQL
+ * mode, because task_versions is incremented with MySQL's INSERT ... ON DUPLICATE KEY UPDATE.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///contract?options=DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+class TaskApiContractTests extends TaskApiContract {
+}
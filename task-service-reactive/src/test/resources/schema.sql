@@ -0,0 +1,36 @@
+-- task-service's schema as Hibernate generates it for H2; MySQL deployments get it from task-service itself.
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT NOT NULL PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    priority VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    due_date TIMESTAMP(6),
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    is_open BOOLEAN GENERATED ALWAYS AS (status <> 'DONE')
+);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id ON tasks (user_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status ON tasks (user_id, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_open_due_date ON tasks (user_id, is_open, due_date);
+
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    id BIGINT NOT NULL PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_user_deleted_at ON task_tombstones (user_id, deleted_at);
+
+CREATE TABLE IF NOT EXISTS task_versions (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+MERGE INTO id_generators (sequence_name, next_val) KEY (sequence_name) VALUES ('tasks', 51), ('task_tombstones', 51);
@@ -0,0 +1,31 @@
+package com.example.taskservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) alongside JSON for
+ * every endpoint that reads or writes JSON: responses by {@code Accept}, request bodies by
+ * {@code Content-Type}. Both mappers come from Boot's {@link Jackson2ObjectMapperBuilder}, so field
+ * names, enum names, ISO-8601 dates and {@code spring.jackson.*} settings match JSON exactly; only the
+ * encoding differs. Boot replaces Spring's default converters of these types with these beans and
+ * keeps them after the JSON converter, so JSON stays the default for clients that accept anything.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.taskservice.config;
+
+import com.example.taskservice.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves each {@code id_generators} row past the largest id already in its table before the
+ * application takes traffic. Rows inserted while ids were AUTO_INCREMENT would otherwise collide
+ * with the first blocks the table generator hands out.
+ *
+ * Depends on the {@link EntityManagerFactory} so Hibernate's schema update has created the tables.
+ */
+@Component
+public class IdGeneratorAligner {
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorAligner.class);
+
+    // generator segment -> table whose ids it generates
+    private static final Map<String, String> SEGMENTS = Map.of(
+            "tasks", "tasks",
+            "task_tombstones", "task_tombstones");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void align() {
+        SEGMENTS.forEach(this::align);
+    }
+
+    private void align(String segment, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        // A pooled block can start up to ALLOCATION_SIZE below the stored value, so leave that much headroom.
+        long floor = (maxId == null ? 0 : maxId) + 1 + IdGenerators.ALLOCATION_SIZE;
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = ?",
+                Integer.class, segment);
+        if (rows == null || rows == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", "
+                        + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)", segment, floor);
+                logger.info("Initialized id generator '{}' at {}", segment, floor);
+                return;
+            } catch (DuplicateKeyException e) {
+                // Another instance starting at the same time inserted it first; advance it like any existing row
+            }
+        }
+        int updated = jdbcTemplate.update("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN
+                + " = ? WHERE " + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?",
+                floor, segment, floor);
+        if (updated > 0) {
+            logger.info("Advanced id generator '{}' to {}", segment, floor);
+        }
+    }
+}
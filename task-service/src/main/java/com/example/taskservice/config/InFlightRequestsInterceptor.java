@@ -0,0 +1,83 @@
+package com.example.taskservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes {@code http.server.requests.in.flight}, the number of requests currently inside each
+ * route, tagged with {@code method} and {@code uri} like {@code http.server.requests}. Boot's own
+ * {@code http.server.requests.active} is tagged before the route is known, so all of its requests
+ * are {@code uri=UNKNOWN}.
+ *
+ * An async request (an SSE stream) counts from its first dispatch until its last one completes, so
+ * open streams show up as in flight for as long as they are open.
+ */
+@Component
+public class InFlightRequestsInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+
+    private static final String COUNTER_ATTRIBUTE = InFlightRequestsInterceptor.class.getName() + ".counter";
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    // Set once metrics are bound; a route first seen before that gets its gauge on its next request.
+    private volatile MeterRegistry registry;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (request.getAttribute(COUNTER_ATTRIBUTE) == null) {
+            AtomicInteger counter = counter(request);
+            counter.incrementAndGet();
+            request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(COUNTER_ATTRIBUTE) instanceof AtomicInteger counter) {
+            counter.decrementAndGet();
+            request.removeAttribute(COUNTER_ATTRIBUTE);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private AtomicInteger counter(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String method = request.getMethod();
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Route route = routes.computeIfAbsent(method + ' ' + uri, key -> new Route());
+        MeterRegistry meters = registry;
+        if (!route.registered && meters != null) {
+            Gauge.builder("http.server.requests.in.flight", route.count, AtomicInteger::get)
+                    .description("Requests currently being handled")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meters);
+            route.registered = true;
+        }
+        return route.count;
+    }
+
+    private static final class Route {
+        final AtomicInteger count = new AtomicInteger();
+        // Registering twice is harmless (the registry returns the existing gauge), so no stronger guard
+        volatile boolean registered;
+    }
+}
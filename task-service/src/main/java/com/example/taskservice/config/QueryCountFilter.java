@@ -0,0 +1,57 @@
+package com.example.taskservice.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many JDBC statements each request issued on its own thread, as the
+ * {@code http.server.requests.queries} distribution tagged like {@code http.server.requests}
+ * ({@code method} and the matched {@code uri} pattern). Work handed to other threads, such as SSE
+ * dispatch, is not counted.
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter implements MeterBinder {
+
+    // Set once metrics are bound; requests before that are simply not recorded.
+    private volatile MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        QueryMetricsListener.startCounting();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = QueryMetricsListener.stopCounting();
+            MeterRegistry meters = registry;
+            if (meters != null) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("http.server.requests.queries")
+                        .description("JDBC statements issued per request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                        .minimumExpectedValue(1.0)
+                        .maximumExpectedValue(10_000.0)
+                        .publishPercentileHistogram()
+                        .register(meters)
+                        .record(statements);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        this.registry = registry;
+    }
+}
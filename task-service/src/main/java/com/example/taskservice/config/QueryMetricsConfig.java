@@ -0,0 +1,51 @@
+package com.example.taskservice.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires statement instrumentation: the {@code dataSource} bean (Boot's pool, or the read/write router
+ * when replicas are configured) is wrapped so {@link QueryMetricsListener} sees every statement, and
+ * every Spring Data repository proxy records its running method in {@link QueryAttribution}.
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    static BeanPostProcessor queryMetricsDataSourcePostProcessor(ObjectProvider<QueryMetricsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    static BeanPostProcessor queryAttributionRepositoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    // First in the chain, outside the transaction advice, so a repository's own commit is attributed too
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(0,
+                                    QueryAttribution.interceptor(repository.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.taskservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Active when {@code tasks.datasource.replica-urls} lists at least one replica. Replaces Boot's
+ * single pool with a primary pool configured exactly as before ({@code spring.datasource.*}) plus one
+ * read-only pool per replica, behind a {@link ReadWriteRoutingDataSource} that JPA and JDBC use.
+ * Replicas log in with the primary's credentials and get its driver properties
+ * ({@code spring.datasource.hikari.data-source-properties.*}), so statements behave the same on either.
+ * Boot publishes the primary pool's {@code hikaricp.*} metrics; the replica pools are not beans, so
+ * they are registered here, tagged {@code pool=replica-N}.
+ */
+@Configuration
+@Conditional(ReadReplicaConfig.ReplicaUrlsConfigured.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${tasks.datasource.replica-urls}") List<String> replicaUrls,
+                                 @Value("${tasks.datasource.replica-pool-size:10}") int poolSize) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            if (registry != null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    /**
+     * Reads the property from the Environment rather than splicing it into an expression, so URLs with
+     * quotes (H2's {@code INIT=RUNSCRIPT FROM '...'}) or other SpEL syntax need no escaping. Blank entries
+     * do not count, as {@link #dataSource} skips them.
+     */
+    static class ReplicaUrlsConfigured implements Condition {
+
+        @Override
+        public boolean matches(@NonNull ConditionContext context, @NonNull AnnotatedTypeMetadata metadata) {
+            String urls = context.getEnvironment().getProperty("tasks.datasource.replica-urls", "");
+            for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+                if (!url.isBlank()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
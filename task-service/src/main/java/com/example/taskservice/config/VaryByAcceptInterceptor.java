@@ -0,0 +1,24 @@
+package com.example.taskservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Adds {@code Vary: Accept} to the responses of routes whose bodies are negotiated (JSON, CBOR or
+ * Smile), so a shared cache never hands one client's encoding, or its ETag, to a client that asked for
+ * another. Added before the handler runs, so {@code 304} responses carry it too.
+ */
+@Component
+public class VaryByAcceptInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return true;
+    }
+}
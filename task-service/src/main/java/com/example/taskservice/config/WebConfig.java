@@ -0,0 +1,39 @@
+package com.example.taskservice.config;
+
+import com.example.taskservice.security.CurrentUserIdArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CurrentUserIdArgumentResolver currentUserIdArgumentResolver;
+    private final InFlightRequestsInterceptor inFlightRequestsInterceptor;
+    private final VaryByAcceptInterceptor varyByAcceptInterceptor;
+
+    public WebConfig(CurrentUserIdArgumentResolver currentUserIdArgumentResolver,
+                     InFlightRequestsInterceptor inFlightRequestsInterceptor,
+                     VaryByAcceptInterceptor varyByAcceptInterceptor) {
+        this.currentUserIdArgumentResolver = currentUserIdArgumentResolver;
+        this.inFlightRequestsInterceptor = inFlightRequestsInterceptor;
+        this.varyByAcceptInterceptor = varyByAcceptInterceptor;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserIdArgumentResolver);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(inFlightRequestsInterceptor);
+        // Export and the event stream pick their formats from ?format= and text/event-stream, not Accept
+        registry.addInterceptor(varyByAcceptInterceptor)
+                .addPathPatterns("/api/tasks", "/api/tasks/**")
+                .excludePathPatterns("/api/tasks/export", "/api/tasks/stream");
+    }
+}
@@ -2,21 +2,53 @@ package com.example.taskservice.controller;
 
 import com.example.taskservice.entity.Task;
 import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskBatchRequest;
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.dto.TaskView;
 import com.example.taskservice.entity.Status;
+import com.example.taskservice.security.CurrentUserId;
+import com.example.taskservice.service.TaskEventHub;
 import com.example.taskservice.service.TaskService;
-import com.example.taskservice.util.JwtUtil;
+import com.example.taskservice.service.TaskTransferService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -26,63 +58,252 @@ public class TaskController {
     
     @Autowired
     private TaskService taskService;
-    
+
     @Autowired
-    private JwtUtil jwtUtil;
-    
-    private Long getUserIdFromToken(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            try {
-                // Try to get numeric userId claim first (added by user-service). Fallback to subject parsing.
-                Long userId = jwtUtil.getUserIdFromToken(token);
-                if (userId != null) return userId;
-                String username = jwtUtil.getUsernameFromToken(token);
-                // Fallback: if subject contains numeric id, parse it (legacy behavior)
-                try {
-                    return Long.parseLong(username);
-                } catch (NumberFormatException ex) {
-                    return null;
-                }
-            } catch (Exception e) {
-                return null;
-            }
-        }
-        return null;
+    private TaskEventHub eventHub;
+
+    @Autowired
+    private TaskTransferService transferService;
+
+    @Value("${tasks.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    // Encodings the message converters negotiate, in the order they prefer them
+    private List<AbstractJackson2HttpMessageConverter> encodings;
+
+    @Autowired
+    void setEncodings(MappingJackson2HttpMessageConverter json, MappingJackson2CborHttpMessageConverter cbor,
+                      MappingJackson2SmileHttpMessageConverter smile) {
+        encodings = List.of(json, cbor, smile);
     }
     
     @GetMapping(path = {"", "/"})
-    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) Status status,
-                                         @RequestParam(required = false) com.example.taskservice.entity.Priority priority,
-                                         HttpServletRequest request) {
-        Long userId = getUserIdFromToken(request);
+    public ResponseEntity<?> getAllTasks(TaskFilter filter,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String fields,
+                                         @RequestParam(defaultValue = "false") boolean stream,
+                                         @CurrentUserId Long userId,
+                                         WebRequest request,
+                                         HttpServletResponse response) throws IOException {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid or missing token"));
         }
 
-        // Prefer status-based query when provided. If both provided, apply both filters.
-        if (status != null && priority != null) {
-            List<Task> tasksByStatus = taskService.getTasksByStatus(userId, status);
-            // filter by priority
-            tasksByStatus.removeIf(t -> !t.getPriority().equals(priority));
-            return ResponseEntity.ok(tasksByStatus);
-        } else if (status != null) {
-            List<Task> tasks = taskService.getTasksByStatus(userId, status);
-            return ResponseEntity.ok(tasks);
-        } else if (priority != null) {
-            List<Task> tasks = taskService.getTasksByPriority(userId, priority);
-            return ResponseEntity.ok(tasks);
+        // Overdue results change with the clock, not only with writes, so they are never tagged.
+        if (!Boolean.TRUE.equals(filter.getOverdue())
+                && request.checkNotModified(representationTag(taskService.getTasksVersion(userId), request))) {
+            return null;
         }
 
-        List<Task> tasks = taskService.getAllTasksByUserId(userId);
+        // Listings leave out descriptions unless ?fields=description asks for them
+        boolean withDescription = TaskView.includesDescription(fields);
+
+        // Paginated mode is opt-in so existing clients keep receiving a plain array.
+        if (cursor != null || limit != null) {
+            return ResponseEntity.ok(taskService.getTasksPage(userId, filter, cursor, limit, withDescription));
+        }
+
+        // ?stream=true: the same array, written row by row as the database returns it, for large accounts
+        if (stream) {
+            return writeTaskArray(userId, filter, withDescription, request.getHeader(HttpHeaders.ACCEPT), response);
+        }
+
+        // status, priority, due-date range, overdue and text filters are all applied in one query
+        List<TaskView> tasks = taskService.findTasks(userId, filter, withDescription);
         return ResponseEntity.ok(tasks);
     }
     
+    /**
+     * Every task of the user matching the listing filters, as NDJSON ({@code format=ndjson}, default) or
+     * CSV ({@code format=csv}), streamed from the database; gzip-compressed when the client accepts gzip.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTasks(TaskFilter filter,
+                                         @RequestParam(defaultValue = "ndjson") String format,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                         String acceptEncoding,
+                                         @CurrentUserId Long userId,
+                                         HttpServletResponse response) throws IOException {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Invalid or missing token"));
+        }
+        TaskTransferService.Format exportFormat;
+        if (format.equalsIgnoreCase("csv")) {
+            exportFormat = TaskTransferService.Format.CSV;
+        } else if (format.equalsIgnoreCase("ndjson")) {
+            exportFormat = TaskTransferService.Format.NDJSON;
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("error", "format must be ndjson or csv"));
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String fileName = exportFormat == TaskTransferService.Format.CSV ? "tasks.csv" : "tasks.ndjson";
+        response.setContentType(exportFormat == TaskTransferService.Format.CSV
+                ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        try (OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192)
+                : response.getOutputStream()) {
+            transferService.export(userId, filter, exportFormat, out);
+        }
+        return null;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip: {@code gzip} (or {@code x-gzip}) listed with
+     * a non-zero q-value, or else {@code *} with one. {@code gzip;q=0} refuses it even after {@code *}.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                return quality > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality > 0;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /**
+     * Creates one task per row of an NDJSON ({@code Content-Type: application/x-ndjson}) or CSV
+     * ({@code text/csv}, with a header row) body, optionally sent with {@code Content-Encoding: gzip}.
+     * Rows are read and inserted in batches as they arrive; the response reports the outcome per row.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importTasks(@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false)
+                                         String contentType,
+                                         @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false)
+                                         String contentEncoding,
+                                         @CurrentUserId Long userId,
+                                         HttpServletRequest request) throws IOException {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Invalid or missing token"));
+        }
+        TaskTransferService.Format importFormat = null;
+        try {
+            MediaType mediaType = contentType != null ? MediaType.parseMediaType(contentType) : null;
+            if (mediaType != null && mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+                importFormat = TaskTransferService.Format.CSV;
+            } else if (mediaType != null && mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                importFormat = TaskTransferService.Format.NDJSON;
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Reported as unsupported below
+        }
+        if (importFormat == null) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .body(Map.of("error", "Content-Type must be application/x-ndjson or text/csv"));
+        }
+        boolean gzip = contentEncoding != null && contentEncoding.trim().equalsIgnoreCase("gzip");
+        if (contentEncoding != null && !gzip && !contentEncoding.trim().equalsIgnoreCase("identity")) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .body(Map.of("error", "Content-Encoding must be gzip or identity"));
+        }
+
+        InputStream in = request.getInputStream();
+        if (gzip) {
+            try {
+                in = new GZIPInputStream(in, 8192);
+            } catch (IOException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Body is not valid gzip"));
+            }
+        }
+        return ResponseEntity.ok(transferService.importTasks(userId, importFormat, in));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since, @CurrentUserId Long userId) {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Invalid or missing token"));
+        }
+
+        return ResponseEntity.ok(taskService.getChangesSince(userId, since));
+    }
+
+    /** Counts by status and priority plus the overdue count, read from maintained counters. */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats(@CurrentUserId Long userId) {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Invalid or missing token"));
+        }
+
+        return ResponseEntity.ok(taskService.getStats(userId));
+    }
+
+    /** Ranked word search over titles and descriptions; the last word also matches as a prefix. */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam(required = false) String q,
+                                    @RequestParam(required = false) Integer limit,
+                                    @RequestParam(required = false) String fields,
+                                    @CurrentUserId Long userId,
+                                    WebRequest request) {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Invalid or missing token"));
+        }
+        if (q == null || q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "q is required"));
+        }
+
+        if (request.checkNotModified(representationTag(taskService.getTasksVersion(userId), request))) {
+            return null;
+        }
+
+        return ResponseEntity.ok(taskService.searchTasks(userId, q, limit, TaskView.includesDescription(fields)));
+    }
+
+    /**
+     * Server-Sent Events stream of the user's task changes: {@code created}, {@code updated},
+     * {@code overdue} (task views without descriptions), {@code deleted} ({@code {"id": ...}}), and
+     * {@code resync} when the client fell too far behind and should call {@code /changes}.
+     */
+    @GetMapping("/stream")
+    public Object stream(@CurrentUserId Long userId) {
+        // Declared as Object so errors can still be JSON bodies; an SseEmitter return switches to async
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", "Invalid or missing token"));
+        }
+        SseEmitter emitter = eventHub.subscribe(userId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", "Too many open streams"));
+        }
+        return emitter;
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTaskById(@PathVariable Long id, HttpServletRequest request) {
-        Long userId = getUserIdFromToken(request);
+    public ResponseEntity<?> getTaskById(@PathVariable Long id, @CurrentUserId Long userId, WebRequest request) {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid or missing token"));
@@ -90,6 +311,9 @@ public class TaskController {
         
         Optional<Task> task = taskService.getTaskById(id, userId);
         if (task.isPresent()) {
+            if (request.checkNotModified(representationTag(taskETag(task.get(), userId), request))) {
+                return null;
+            }
             return ResponseEntity.ok(task.get());
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -98,10 +322,9 @@ public class TaskController {
     }
     
     @PostMapping(path = {"", "/"})
-    public ResponseEntity<?> createTask(@Valid @RequestBody CreateTaskRequest createRequest, HttpServletRequest request) {
+    public ResponseEntity<?> createTask(@Valid @RequestBody CreateTaskRequest createRequest, @CurrentUserId Long userId) {
         logger.debug("Incoming createTask request: {}", createRequest);
         try {
-            Long userId = getUserIdFromToken(request);
             if (userId == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("error", "Invalid or missing token"));
@@ -124,10 +347,25 @@ public class TaskController {
         }
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody TaskBatchRequest batchRequest, @CurrentUserId Long userId) {
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Invalid or missing token"));
+        }
+
+        List<TaskBatchRequest.Operation> operations = batchRequest.getOperations();
+        if (operations == null || operations.isEmpty() || operations.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "A batch must contain between 1 and " + maxBatchSize + " operations"));
+        }
+
+        return ResponseEntity.ok(Map.of("results", taskService.applyBatch(userId, operations)));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateTask(@PathVariable Long id, @Valid @RequestBody CreateTaskRequest updateRequest, 
-                                       HttpServletRequest request) {
-        Long userId = getUserIdFromToken(request);
+                                       @CurrentUserId Long userId) {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid or missing token"));
@@ -151,8 +389,7 @@ public class TaskController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteTask(@PathVariable Long id, HttpServletRequest request) {
-        Long userId = getUserIdFromToken(request);
+    public ResponseEntity<?> deleteTask(@PathVariable Long id, @CurrentUserId Long userId) {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid or missing token"));
@@ -168,26 +405,112 @@ public class TaskController {
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<?> getTasksByStatus(@PathVariable Status status, HttpServletRequest request) {
-        Long userId = getUserIdFromToken(request);
+    public ResponseEntity<?> getTasksByStatus(@PathVariable Status status,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) String fields,
+                                              @CurrentUserId Long userId,
+                                              WebRequest request) {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid or missing token"));
         }
+
+        if (request.checkNotModified(representationTag(taskService.getTasksVersion(userId), request))) {
+            return null;
+        }
+
+        boolean withDescription = TaskView.includesDescription(fields);
+        if (cursor != null || limit != null) {
+            TaskFilter filter = new TaskFilter();
+            filter.setStatus(status);
+            return ResponseEntity.ok(taskService.getTasksPage(userId, filter, cursor, limit, withDescription));
+        }
         
-        List<Task> tasks = taskService.getTasksByStatus(userId, status);
+        List<TaskView> tasks = taskService.getTasksByStatus(userId, status, withDescription);
         return ResponseEntity.ok(tasks);
     }
     
     @GetMapping("/overdue")
-    public ResponseEntity<?> getOverdueTasks(HttpServletRequest request) {
-        Long userId = getUserIdFromToken(request);
+    public ResponseEntity<?> getOverdueTasks(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(required = false) String fields,
+                                             @CurrentUserId Long userId) {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid or missing token"));
         }
+
+        boolean withDescription = TaskView.includesDescription(fields);
+        if (cursor != null || limit != null) {
+            return ResponseEntity.ok(taskService.getOverdueTasksPage(userId, cursor, limit, withDescription));
+        }
         
-        List<Task> tasks = taskService.getOverdueTasks(userId);
+        List<TaskView> tasks = taskService.getOverdueTasks(userId, withDescription);
         return ResponseEntity.ok(tasks);
     }
+
+    // Strong ETag of a single task: its id plus last modification time, down to the nanosecond.
+    private String taskETag(Task task, Long userId) {
+        LocalDateTime modified = task.getUpdatedAt() != null ? task.getUpdatedAt() : task.getCreatedAt();
+        if (modified == null) {
+            return taskService.getTasksVersion(userId);
+        }
+        return task.getId() + "." + modified.toEpochSecond(ZoneOffset.UTC) + "." + modified.getNano();
+    }
+
+    // JSON, CBOR and Smile bodies are different representations, so each gets its own tag; JSON keeps the
+    // plain one, which is what clients were sent before the binary formats existed.
+    private String representationTag(String tag, WebRequest request) {
+        AbstractJackson2HttpMessageConverter encoding = negotiatedEncoding(request.getHeader(HttpHeaders.ACCEPT));
+        if (encoding == null || encoding == encodings.get(0)) {
+            return tag;
+        }
+        return tag + "." + encoding.getSupportedMediaTypes().get(0).getSubtype();
+    }
+
+    private ResponseEntity<?> writeTaskArray(Long userId, TaskFilter filter, boolean withDescription,
+                                             String accept, HttpServletResponse response) throws IOException {
+        AbstractJackson2HttpMessageConverter encoding = negotiatedEncoding(accept);
+        if (encoding == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", "Streaming listings are available as JSON, CBOR or Smile"));
+        }
+        ObjectMapper mapper = encoding.getObjectMapper();
+        // Writes one row into a running array; flushing after each row would send a chunk per task
+        ObjectWriter rowWriter = mapper.writerFor(TaskView.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        response.setContentType(encoding.getSupportedMediaTypes().get(0).toString());
+        try (JsonGenerator out = mapper.getFactory().createGenerator(response.getOutputStream())) {
+            out.writeStartArray();
+            taskService.forEachTask(userId, filter, withDescription, task -> {
+                try {
+                    rowWriter.writeValue(out, task);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeEndArray();
+        }
+        return null;
+    }
+
+    private AbstractJackson2HttpMessageConverter negotiatedEncoding(String accept) {
+        List<MediaType> accepted = new ArrayList<>();
+        try {
+            accepted.addAll(accept == null || accept.isBlank()
+                    ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            for (AbstractJackson2HttpMessageConverter encoding : encodings) {
+                if (encoding.canWrite(TaskView.class, mediaType)) {
+                    return encoding;
+                }
+            }
+        }
+        return null;
+    }
 }
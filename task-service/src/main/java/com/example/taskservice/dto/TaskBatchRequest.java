@@ -0,0 +1,74 @@
+package com.example.taskservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/tasks/batch}: creates, updates and deletes applied in order, in one
+ * transaction.
+ */
+public class TaskBatchRequest {
+
+    private List<Operation> operations = new ArrayList<>();
+
+    public TaskBatchRequest() {}
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    public enum OperationType {
+        @JsonProperty("create") CREATE,
+        @JsonProperty("update") UPDATE,
+        @JsonProperty("delete") DELETE
+    }
+
+    public static class Operation {
+
+        private OperationType op;
+
+        // Target of update and delete
+        private Long id;
+
+        // Fields of create and update
+        private CreateTaskRequest task;
+
+        public Operation() {}
+
+        public Operation(OperationType op, Long id, CreateTaskRequest task) {
+            this.op = op;
+            this.id = id;
+            this.task = task;
+        }
+
+        public OperationType getOp() {
+            return op;
+        }
+
+        public void setOp(OperationType op) {
+            this.op = op;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public CreateTaskRequest getTask() {
+            return task;
+        }
+
+        public void setTask(CreateTaskRequest task) {
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.taskservice.dto;
+
+import com.example.taskservice.entity.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one operation of a batch, in request order. {@code status} is the HTTP status the
+ * operation would have had on its own endpoint: 201, 200, 400 or 404.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResult {
+
+    private final int index;
+    private final int status;
+    private final Long id;
+    private final Task task;
+    private final String error;
+
+    private TaskBatchResult(int index, int status, Long id, Task task, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.task = task;
+        this.error = error;
+    }
+
+    public static TaskBatchResult created(int index, Task task) {
+        return new TaskBatchResult(index, 201, task.getId(), task, null);
+    }
+
+    public static TaskBatchResult updated(int index, Task task) {
+        return new TaskBatchResult(index, 200, task.getId(), task, null);
+    }
+
+    public static TaskBatchResult deleted(int index, Long id) {
+        return new TaskBatchResult(index, 200, id, null, null);
+    }
+
+    public static TaskBatchResult invalid(int index, Long id, String error) {
+        return new TaskBatchResult(index, 400, id, null, error);
+    }
+
+    public static TaskBatchResult notFound(int index, Long id) {
+        return new TaskBatchResult(index, 404, id, null, "Task not found or access denied");
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
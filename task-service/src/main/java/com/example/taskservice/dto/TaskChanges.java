@@ -0,0 +1,40 @@
+package com.example.taskservice.dto;
+
+import java.util.List;
+
+/**
+ * Everything that changed in a user's task list after a watermark: tasks created or updated, ids of
+ * deleted tasks, and the watermark to pass as {@code ?since=} next time. When {@code fullResync} is
+ * true the old watermark was older than the tombstone retention, {@code tasks} holds the complete
+ * list and the client must drop any task not in it.
+ */
+public class TaskChanges {
+
+    private final List<TaskView> tasks;
+    private final List<Long> deletedIds;
+    private final String watermark;
+    private final boolean fullResync;
+
+    public TaskChanges(List<TaskView> tasks, List<Long> deletedIds, String watermark, boolean fullResync) {
+        this.tasks = tasks;
+        this.deletedIds = deletedIds;
+        this.watermark = watermark;
+        this.fullResync = fullResync;
+    }
+
+    public List<TaskView> getTasks() {
+        return tasks;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public String getWatermark() {
+        return watermark;
+    }
+
+    public boolean isFullResync() {
+        return fullResync;
+    }
+}
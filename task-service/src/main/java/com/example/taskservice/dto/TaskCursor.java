@@ -0,0 +1,100 @@
+package com.example.taskservice.dto;
+
+import com.example.taskservice.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row a client has seen, encoded as an opaque URL-safe token. Listings ordered
+ * by id carry only the id; listings ordered by due date carry the due date and the id tie-breaker.
+ * Change feeds carry a watermark timestamp.
+ */
+public final class TaskCursor {
+
+    private static final String BY_ID = "i";
+    private static final String BY_DUE_DATE = "d";
+    private static final String WATERMARK = "w";
+
+    private final Long afterId;
+    private final LocalDateTime afterDueDate;
+
+    private TaskCursor(Long afterId, LocalDateTime afterDueDate) {
+        this.afterId = afterId;
+        this.afterDueDate = afterDueDate;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public LocalDateTime getAfterDueDate() {
+        return afterDueDate;
+    }
+
+    public static String encodeById(Long id) {
+        return encode(BY_ID + "|" + id);
+    }
+
+    public static String encodeByDueDate(LocalDateTime dueDate, Long id) {
+        return encode(BY_DUE_DATE + "|" + id + "|" + dueDate);
+    }
+
+    public static String encodeWatermark(LocalDateTime watermark) {
+        return encode(WATERMARK + "|" + watermark);
+    }
+
+    public static LocalDateTime decodeWatermark(String token) {
+        String[] parts = decode(token).split("\\|");
+        if (parts.length != 2 || !WATERMARK.equals(parts[0])) {
+            throw new InvalidCursorException("Invalid sync token");
+        }
+        try {
+            return LocalDateTime.parse(parts[1]);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid sync token");
+        }
+    }
+
+    public static TaskCursor decodeById(String token) {
+        String[] parts = decode(token).split("\\|");
+        if (parts.length != 2 || !BY_ID.equals(parts[0])) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        return new TaskCursor(parseId(parts[1]), null);
+    }
+
+    public static TaskCursor decodeByDueDate(String token) {
+        String[] parts = decode(token).split("\\|");
+        if (parts.length != 3 || !BY_DUE_DATE.equals(parts[0])) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        try {
+            return new TaskCursor(parseId(parts[1]), LocalDateTime.parse(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
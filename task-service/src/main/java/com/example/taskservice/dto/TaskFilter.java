@@ -0,0 +1,85 @@
+package com.example.taskservice.dto;
+
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional predicates for task listings, bound from query parameters. Any combination may be set;
+ * unset fields do not constrain the result.
+ */
+public class TaskFilter {
+
+    private Status status;
+
+    private Priority priority;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+
+    private Boolean overdue;
+
+    // Case-insensitive substring match on title or description
+    private String q;
+
+    public TaskFilter() {}
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDateTime dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDateTime getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDateTime dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    public Boolean getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(Boolean overdue) {
+        this.overdue = overdue;
+    }
+
+    public String getQ() {
+        return q;
+    }
+
+    public void setQ(String q) {
+        this.q = q;
+    }
+
+    /** True when no predicate is set, i.e. the filter matches every task. */
+    public boolean isEmpty() {
+        return status == null && priority == null && dueFrom == null && dueTo == null
+                && !Boolean.TRUE.equals(overdue) && (q == null || q.isBlank());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.taskservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Response of {@code POST /api/tasks/import}. {@code rows} counts data rows read (CSV header and
+ * blank lines excluded); each one was either imported or failed. {@code errors} lists the first
+ * failures by 1-based row number, up to {@code tasks.import.max-errors}; {@code errorsTruncated} says
+ * there were more. {@code error} is set only when the import stopped early: rows before the failing
+ * batch stay imported, that batch and everything after it do not.
+ */
+public record TaskImportResult(long rows,
+                               long imported,
+                               long failed,
+                               List<RowError> errors,
+                               boolean errorsTruncated,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) String error) {
+
+    public record RowError(long row, String error) {
+    }
+}
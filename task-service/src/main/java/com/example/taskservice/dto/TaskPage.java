@@ -0,0 +1,26 @@
+package com.example.taskservice.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated task listing. {@code nextCursor} is null on the last page;
+ * otherwise pass it back as {@code ?cursor=} to fetch the following page.
+ */
+public class TaskPage {
+
+    private final List<TaskView> content;
+    private final String nextCursor;
+
+    public TaskPage(List<TaskView> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskView> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskservice.dto;
+
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+
+import java.util.Map;
+
+/** Response of {@code GET /api/tasks/stats}; every status and priority is present, with 0 if unused. */
+public record TaskStats(long total,
+                        Map<Status, Long> byStatus,
+                        Map<Priority, Long> byPriority,
+                        long overdue) {
+}
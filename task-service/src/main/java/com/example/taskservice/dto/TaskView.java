@@ -0,0 +1,54 @@
+package com.example.taskservice.dto;
+
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of a task listing. Built straight from a SELECT (never a managed entity, so no
+ * persistence-context snapshot or dirty checking) or from a saved {@link Task}. {@code description}
+ * is null, and left out of the JSON, unless the listing asked for it with {@code ?fields=description}.
+ */
+public record TaskView(Long id,
+                       String title,
+                       @JsonInclude(JsonInclude.Include.NON_NULL) String description,
+                       Priority priority,
+                       Status status,
+                       LocalDateTime dueDate,
+                       Long userId,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt) {
+
+    // Used by the lean projection query; argument order must match the SELECT list.
+    public TaskView(Long id, String title, Priority priority, Status status, LocalDateTime dueDate,
+                    Long userId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, null, priority, status, dueDate, userId, createdAt, updatedAt);
+    }
+
+    public static TaskView of(Task task) {
+        return new TaskView(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(),
+                task.getStatus(), task.getDueDate(), task.getUserId(), task.getCreatedAt(), task.getUpdatedAt());
+    }
+
+    public TaskView withoutDescription() {
+        return description == null ? this
+                : new TaskView(id, title, priority, status, dueDate, userId, createdAt, updatedAt);
+    }
+
+    /** Whether a {@code ?fields=} value (comma-separated names, or {@code *}) asks for the description. */
+    public static boolean includesDescription(String fields) {
+        if (fields == null) {
+            return false;
+        }
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.equals("*") || name.equalsIgnoreCase("description")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.taskservice.entity;
+
+/**
+ * Shared settings of the {@code id_generators} table that hands out entity ids in blocks.
+ * {@link #ALLOCATION_SIZE} matches {@code hibernate.jdbc.batch_size} so one block fills one batch.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {}
+}
@@ -0,0 +1,32 @@
+package com.example.taskservice.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on a scheduled job that must not run on two instances at once. An instance holds it from a
+ * successful conditional UPDATE until it moves {@code lockedUntil} back on finishing; a holder that dies
+ * loses it when {@code lockedUntil} passes.
+ */
+@Entity
+@Table(name = "job_locks")
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    public JobLock() {}
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+}
@@ -8,11 +8,28 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    // Every query is scoped to one user; (user_id) + implicit PK also serves keyset paging by id.
+    @Index(name = "idx_tasks_user_id", columnList = "user_id, id"),
+    @Index(name = "idx_tasks_user_status", columnList = "user_id, status"),
+    @Index(name = "idx_tasks_user_priority", columnList = "user_id, priority"),
+    @Index(name = "idx_tasks_user_due_date", columnList = "user_id, due_date"),
+    // Delta sync: everything a user changed after a watermark.
+    @Index(name = "idx_tasks_user_updated_at", columnList = "user_id, updated_at"),
+    // Search index catch-up: everything any user changed after a watermark.
+    @Index(name = "idx_tasks_updated_at", columnList = "updated_at"),
+    // Overdue = open AND due_date < now: one contiguous range, already in (due_date, id) order.
+    @Index(name = "idx_tasks_user_open_due_date", columnList = "user_id, is_open, due_date")
+})
 public class Task {
     
+    // Table-backed pooled ids: Hibernate reserves a block of ALLOCATION_SIZE ids per round trip and,
+    // unlike IDENTITY, knows the id before the INSERT, so inserts can be JDBC-batched.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id")
+    @TableGenerator(name = "task_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "tasks",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank(message = "Title is required")
@@ -46,6 +63,12 @@ public class Task {
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Computed by the database from status so "not DONE" becomes an equality an index can seek on.
+    // Query-only: it is never written and is not refreshed in memory after a save.
+    @Column(name = "is_open", insertable = false, updatable = false,
+            columnDefinition = "boolean generated always as (status <> 'DONE')")
+    private Boolean open;
     
     // Constructors
     public Task() {}
@@ -135,10 +158,15 @@ public class Task {
         this.updatedAt = updatedAt;
     }
     
+    // Every persist and update goes through these, so updated_at is a reliable change-feed watermark.
+    // Bulk JPQL/SQL updates bypass them and must set updated_at themselves.
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        updatedAt = now;
     }
     
     @PreUpdate
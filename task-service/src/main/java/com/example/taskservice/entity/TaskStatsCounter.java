@@ -0,0 +1,99 @@
+package com.example.taskservice.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Number of a user's tasks with one status and priority. Kept in step with {@code tasks} by applying
+ * deltas in the same transaction as each write; {@code TaskStatsService#reconcile} repairs any drift.
+ */
+@Entity
+@Table(name = "task_stats", indexes = {
+    // Hibernate may order the composite primary key's columns by name, so user_id need not lead it.
+    @Index(name = "idx_task_stats_user_id", columnList = "user_id")
+})
+@IdClass(TaskStatsCounter.Key.class)
+public class TaskStatsCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Priority priority;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    public TaskStatsCounter() {}
+
+    public TaskStatsCounter(Long userId, Status status, Priority priority, long taskCount) {
+        this.userId = userId;
+        this.status = status;
+        this.priority = priority;
+        this.taskCount = taskCount;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long userId;
+        private Status status;
+        private Priority priority;
+
+        public Key() {}
+
+        public Key(Long userId, Status status, Priority priority) {
+            this.userId = userId;
+            this.status = status;
+            this.priority = priority;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && Objects.equals(userId, key.userId)
+                    && status == key.status && priority == key.priority;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, status, priority);
+        }
+    }
+}
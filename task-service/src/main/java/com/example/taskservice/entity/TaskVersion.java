@@ -0,0 +1,31 @@
+package com.example.taskservice.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Version of one user's task collection, incremented in the transaction of every write to it. Listing
+ * ETags are built from it, so any instance of either deployment can tell whether a collection changed
+ * by reading this one row, without touching {@code tasks}. A user's row is created by their first
+ * write and never deleted, so the version only ever grows.
+ */
+@Entity
+@Table(name = "task_versions")
+public class TaskVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    public TaskVersion() {}
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
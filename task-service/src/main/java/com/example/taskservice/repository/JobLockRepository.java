@@ -0,0 +1,33 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // Takes an expired lease; 1 row means this caller now holds it, 0 that it is held or does not exist yet.
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquire(@Param("name") String name, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // First acquisition ever; a duplicate key means another instance created (and holds) it first.
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO JobLock (name, lockedUntil) VALUES (:name, :until)")
+    int create(@Param("name") String name, @Param("until") LocalDateTime until);
+
+    // Only ends the lease this caller took, not one another instance acquired after it expired.
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedUntil = :until")
+    int release(@Param("name") String name, @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,32 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskQueryRepository {
+
+    /**
+     * Runs {@code spec} ordered by {@code sort} and capped at {@code limit} rows, as one SELECT with no
+     * OFFSET and no COUNT query. Combine with a keyset predicate for cursor pagination.
+     */
+    List<Task> findLimited(Specification<Task> spec, Sort sort, int limit);
+
+    /**
+     * Like {@link #findLimited} but selects columns into {@link TaskView}s instead of entities: nothing
+     * enters the persistence context. The description column is only read when {@code withDescription}
+     * is set. A {@code limit} of 0 or less means no limit.
+     */
+    List<TaskView> findViews(Specification<Task> spec, Sort sort, int limit, boolean withDescription);
+
+    /**
+     * Runs {@code spec} ordered by {@code sort} as a forward-only result stream read {@code fetchSize}
+     * rows at a time. Each task is read-only and detached as soon as it is read, so the persistence
+     * context stays empty however many rows there are. Must be consumed, and closed, inside a transaction.
+     */
+    Stream<Task> stream(Specification<Task> spec, Sort sort, int fetchSize);
+}
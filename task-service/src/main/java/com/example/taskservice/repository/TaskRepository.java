@@ -1,16 +1,25 @@
 package com.example.taskservice.repository;
 
 import com.example.taskservice.entity.Task;
+import com.example.taskservice.entity.Priority;
 import com.example.taskservice.entity.Status;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskQueryRepository {
     
     List<Task> findByUserId(Long userId);
     
@@ -18,11 +27,40 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     List<Task> findByUserIdAndPriority(Long userId, com.example.taskservice.entity.Priority priority);
     
-    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.dueDate < :currentDate AND t.status != 'DONE'")
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.open = true AND t.dueDate < :currentDate")
     List<Task> findOverdueTasksByUserId(@Param("userId") Long userId, @Param("currentDate") java.time.LocalDateTime currentDate);
     
     @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.dueDate BETWEEN :startDate AND :endDate")
     List<Task> findTasksByUserIdAndDateRange(@Param("userId") Long userId, 
                                            @Param("startDate") java.time.LocalDateTime startDate, 
                                            @Param("endDate") java.time.LocalDateTime endDate);
+
+    // Ownership-checked single statements: 0 rows means "no such task, or not yours".
+
+    Optional<Task> findByIdAndUserId(Long id, Long userId);
+
+    // SELECT ... FOR UPDATE: holds the row until the write's transaction ends, so its current status and
+    // priority are the ones the write replaces and the task counters stay exact under concurrent updates.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Task> findForUpdateByIdAndUserId(Long id, Long userId);
+
+    // The same for a batch's targets, locked in id order so that overlapping batches cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Task> findForUpdateByUserIdAndIdInOrderByIdAsc(Long userId, Collection<Long> ids);
+
+    // Bulk JPQL skips @PreUpdate, so updatedAt is passed explicitly.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.priority = :priority, "
+            + "t.status = :status, t.dueDate = :dueDate, t.updatedAt = :updatedAt "
+            + "WHERE t.id = :id AND t.userId = :userId")
+    int updateOwned(@Param("id") Long id, @Param("userId") Long userId,
+                    @Param("title") String title, @Param("description") String description,
+                    @Param("priority") Priority priority, @Param("status") Status status,
+                    @Param("dueDate") LocalDateTime dueDate, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.userId = :userId")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -0,0 +1,110 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Composable predicates over {@link Task}. Combined with {@link Specification#and}, any mix of them
+ * renders as a single SELECT with every condition in the WHERE clause.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {}
+
+    /** Everything {@code filter} asks for, always scoped to {@code userId}. */
+    public static Specification<Task> matching(Long userId, TaskFilter filter, LocalDateTime now) {
+        Specification<Task> spec = ownedBy(userId);
+        if (filter == null) {
+            return spec;
+        }
+        if (filter.getStatus() != null) {
+            spec = spec.and(hasStatus(filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            spec = spec.and(hasPriority(filter.getPriority()));
+        }
+        if (filter.getDueFrom() != null) {
+            spec = spec.and(dueOnOrAfter(filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            spec = spec.and(dueOnOrBefore(filter.getDueTo()));
+        }
+        if (Boolean.TRUE.equals(filter.getOverdue())) {
+            spec = spec.and(overdue(now));
+        }
+        if (filter.getQ() != null && !filter.getQ().isBlank()) {
+            spec = spec.and(textContains(filter.getQ()));
+        }
+        return spec;
+    }
+
+    public static Specification<Task> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    }
+
+    public static Specification<Task> ownedByAny(Collection<Long> userIds) {
+        return (root, query, cb) -> root.get("userId").in(userIds);
+    }
+
+    public static Specification<Task> hasStatus(Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriority(Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> dueOnOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDateTime>get("dueDate"), from);
+    }
+
+    public static Specification<Task> dueOnOrBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDateTime>get("dueDate"), to);
+    }
+
+    /** Open (not DONE) and past due; matches the is_open generated column so it range-scans an index. */
+    public static Specification<Task> overdue(LocalDateTime now) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("open"), true),
+                cb.lessThan(root.<LocalDateTime>get("dueDate"), now));
+    }
+
+    public static Specification<Task> textContains(String text) {
+        String pattern = "%" + escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.<String>get("title")), pattern, '\\'),
+                cb.like(cb.lower(root.<String>get("description")), pattern, '\\'));
+    }
+
+    public static Specification<Task> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Task> updatedAfter(LocalDateTime since) {
+        return (root, query, cb) -> cb.greaterThan(root.<LocalDateTime>get("updatedAt"), since);
+    }
+
+    /** Keyset seek for listings ordered by id. */
+    public static Specification<Task> idAfter(Long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.<Long>get("id"), afterId);
+    }
+
+    /** Keyset seek for listings ordered by (dueDate, id). */
+    public static Specification<Task> dueDateAfter(LocalDateTime afterDueDate, Long afterId) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.<LocalDateTime>get("dueDate"), afterDueDate),
+                cb.and(cb.equal(root.get("dueDate"), afterDueDate),
+                        cb.greaterThan(root.<Long>get("id"), afterId)));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.TaskStatsCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface TaskStatsRepository extends JpaRepository<TaskStatsCounter, TaskStatsCounter.Key> {
+
+    List<TaskStatsCounter> findByUserId(Long userId);
+
+    long countByUserId(Long userId);
+
+    // Relative, so concurrent writers never overwrite each other's deltas; 0 rows means the counter is missing.
+    @Transactional
+    @Modifying
+    @Query("UPDATE TaskStatsCounter c SET c.taskCount = c.taskCount + :delta "
+            + "WHERE c.userId = :userId AND c.status = :status AND c.priority = :priority")
+    int add(@Param("userId") Long userId, @Param("status") Status status, @Param("priority") Priority priority,
+            @Param("delta") long delta);
+
+    /** Per-user counts straight from {@code tasks}, as rows of (userId, status, priority, count). */
+    @Query("SELECT t.userId, t.status, t.priority, COUNT(t) FROM Task t GROUP BY t.userId, t.status, t.priority")
+    List<Object[]> countAllTasks();
+}
@@ -0,0 +1,26 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.entity.TaskVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskVersionRepository extends JpaRepository<TaskVersion, Long> {
+
+    // One statement that also creates the row on the user's first write, so there is no duplicate-key
+    // race to lose inside the write's transaction. MySQL syntax; H2 accepts it in MySQL mode.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO task_versions (user_id, version) VALUES (:userId, 1) "
+            + "ON DUPLICATE KEY UPDATE version = version + 1", nativeQuery = true)
+    int increment(@Param("userId") Long userId);
+
+    @Query("SELECT v.version FROM TaskVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+}
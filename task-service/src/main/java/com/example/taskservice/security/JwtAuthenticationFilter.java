@@ -1,6 +1,10 @@
 package com.example.taskservice.security;
 
 import com.example.taskservice.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,11 +17,25 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Authenticates requests carrying a valid JWT. The time spent here, excluding the rest of the chain,
+ * is recorded as {@code http.server.requests.auth} tagged {@code result=valid|invalid|none}, to set
+ * against {@code http.server.requests}.
+ */
 @Component
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
+public class JwtAuthenticationFilter extends OncePerRequestFilter implements MeterBinder {
+
+    // EventSource cannot set headers, so the SSE stream alone also accepts ?access_token=
+    private static final String STREAM_PATH = "/api/tasks/stream";
     
     private final JwtUtil jwtUtil;
+
+    // Set once metrics are bound; requests before that are simply not timed.
+    private volatile Timer validTimer;
+    private volatile Timer invalidTimer;
+    private volatile Timer noTokenTimer;
     
     public JwtAuthenticationFilter(JwtUtil jwtUtil) {
         this.jwtUtil = jwtUtil;
@@ -26,43 +44,61 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, 
                                   @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        final String jwt = resolveToken(request);
+        boolean authenticated = false;
         
-        final String authorizationHeader = request.getHeader("Authorization");
-        
-        String username = null;
-        String jwt = null;
-        
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Verify the token exactly once; the resulting principal is all downstream code needs.
+            JwtPrincipal principal = null;
             try {
-                username = jwtUtil.getUsernameFromToken(jwt);
-            } catch (Exception e) {
+                principal = jwtUtil.parseToken(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
                 logger.error("JWT token is invalid or expired", e);
             }
-        }
-        
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                boolean valid = jwtUtil.validateToken(jwt);
-                Long userIdClaim = jwtUtil.getUserIdFromToken(jwt);
-                logger.debug("JWT validation result=" + valid + ", username=" + username + ", userIdClaim=" + userIdClaim);
 
-                // Validate token and set an Authentication object directly.
-                if (valid) {
-                    // Create a simple authentication token. Authorities can be empty or defaulted.
-                    UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(username, null, java.util.Collections.emptyList());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.debug("SecurityContext after setting auth: " + SecurityContextHolder.getContext().getAuthentication());
-                } else {
-                    logger.warn("JWT validation returned false for token subject=" + username);
+            if (principal != null && principal.getUsername() != null) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("JWT verified for username=" + principal.getUsername() + ", userIdClaim=" + principal.getUserId());
                 }
-            } catch (Exception e) {
-                logger.error("JWT validation failed", e);
+                // Create a simple authentication token. Authorities can be empty or defaulted.
+                UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(principal, null, java.util.Collections.emptyList());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                authenticated = true;
             }
         }
-        
+
+        Timer timer = jwt == null ? noTokenTimer : authenticated ? validTimer : invalidTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
         filterChain.doFilter(request, response);
     }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        validTimer = authTimer(registry, "valid");
+        invalidTimer = authTimer(registry, "invalid");
+        noTokenTimer = authTimer(registry, "none");
+    }
+
+    private static Timer authTimer(MeterRegistry registry, String result) {
+        return Timer.builder("http.server.requests.auth")
+                .description("Time spent resolving and verifying the request's JWT")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static String resolveToken(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            return authorizationHeader.substring(7);
+        }
+        if (STREAM_PATH.equals(request.getRequestURI())) {
+            return request.getParameter("access_token");
+        }
+        return null;
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.taskservice.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Authenticated caller as established by {@link JwtAuthenticationFilter}. Holds the claims
+ * downstream code needs so the token never has to be parsed again within the request.
+ */
+public final class JwtPrincipal implements Principal {
+
+    private final Long userId;
+    private final String username;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(Long userId, String username, Instant expiresAt) {
+        this.userId = userId;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal{userId=" + userId + ", username=" + username + ", expiresAt=" + expiresAt + "}";
+    }
+}
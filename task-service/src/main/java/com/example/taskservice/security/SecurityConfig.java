@@ -59,6 +59,10 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/error").permitAll()
+                // Scraped without a JWT; keep it off the public ingress (see "HTTP Metrics" in README.md)
+                .requestMatchers("/actuator/prometheus").permitAll()
+                // Completing an SSE stream re-dispatches the already-authorized request
+                .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC).permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -79,7 +83,9 @@ public class SecurityConfig {
     configuration.setAllowedOrigins(allowedOrigins);
     configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
     // Allow Authorization and common headers so Authorization preflight succeeds
-    configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With"));
+    configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With", "If-None-Match"));
+    // Let browser clients read the ETag so they can send it back as If-None-Match
+    configuration.setExposedHeaders(List.of("ETag"));
     // Do not allow cookies by default; set ALLOW_CREDENTIALS env var if you need cookie auth
     String allowCred = System.getenv("ALLOW_CREDENTIALS");
     configuration.setAllowCredentials("true".equalsIgnoreCase(allowCred));
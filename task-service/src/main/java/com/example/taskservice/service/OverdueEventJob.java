@@ -0,0 +1,24 @@
+package com.example.taskservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/** Periodically pushes {@code overdue} stream events for tasks whose due date has just passed. */
+@Component
+public class OverdueEventJob {
+
+    @Autowired
+    private TaskService taskService;
+
+    private LocalDateTime lastScan = LocalDateTime.now();
+
+    @Scheduled(fixedDelayString = "${tasks.stream.overdue-scan-ms:60000}")
+    public void scan() {
+        LocalDateTime now = LocalDateTime.now();
+        taskService.publishNewlyOverdue(lastScan, now);
+        lastScan = now;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.config.ReadWriteRoutingDataSource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@link TaskService}'s read-only queries in read-only transactions on a replica (see
+ * {@link com.example.taskservice.config.ReadReplicaConfig}), unless the user wrote within the last
+ * {@code tasks.datasource.read-your-writes-ms}: those reads go to the primary, so a user never reads a
+ * replica that has not caught up with their own change yet. Every user's data is private to them,
+ * so their own writes are the only ones a lagging replica could visibly hide.
+ *
+ * Writes are remembered per instance. Behind a load balancer without sticky sessions, a write and
+ * the next read can land on different instances; keep the window above the replicas' usual lag and
+ * rely on the task cache's patching for the rest.
+ *
+ * Without replicas every read runs exactly as before. Routed reads are counted as
+ * {@code tasks.datasource.reads} tagged {@code target=replica} or {@code target=primary}.
+ */
+@Component
+public class ReplicaReads implements MeterBinder {
+
+    private final boolean enabled;
+    private final TransactionTemplate readOnlyTemplate;
+
+    // Users who wrote within the window; expiry is the end of their read-your-writes protection
+    private final Cache<Long, Boolean> recentWriters;
+
+    // Set once metrics are bound; reads before that are simply not counted.
+    private volatile Counter replicaReads;
+    private volatile Counter pinnedReads;
+
+    public ReplicaReads(PlatformTransactionManager transactionManager,
+                        @Value("${tasks.datasource.replica-urls:}") String replicaUrls,
+                        @Value("${tasks.datasource.read-your-writes-ms:5000}") long readYourWritesMs,
+                        @Value("${tasks.datasource.read-your-writes-maximum-users:100000}") long maximumUsers) {
+        this.enabled = !replicaUrls.isBlank();
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .expireAfterWrite(Duration.ofMillis(readYourWritesMs))
+                .build();
+    }
+
+    /** Call after each committed write of {@code userId}'s tasks. */
+    public void recordWrite(Long userId) {
+        if (enabled) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /** Runs {@code query}, which must only read {@code userId}'s data, on a replica when that is safe. */
+    public <T> T read(Long userId, Supplier<T> query) {
+        if (!enabled) {
+            return query.get();
+        }
+        if (recentWriters.getIfPresent(userId) != null) {
+            increment(pinnedReads);
+            return query.get();
+        }
+        increment(replicaReads);
+        return ReadWriteRoutingDataSource.onReplica(() -> readOnlyTemplate.execute(status -> query.get()));
+    }
+
+    /**
+     * Like {@link #read}, but always inside a read-only transaction, also without replicas: for queries
+     * whose results are consumed lazily, such as streams, which must be read before the transaction ends.
+     */
+    public <T> T readInTransaction(Long userId, Supplier<T> query) {
+        return read(userId, () -> readOnlyTemplate.execute(status -> query.get()));
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        replicaReads = readCounter(registry, "replica");
+        pinnedReads = readCounter(registry, "primary");
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target) {
+        return Counter.builder("tasks.datasource.reads")
+                .description("Read-only service queries by the database they were sent to")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
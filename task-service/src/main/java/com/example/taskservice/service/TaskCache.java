@@ -0,0 +1,181 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Task;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of each user's full task list (ordered by id, as lean {@link TaskView} rows
+ * including the description) and of single tasks by id.
+ *
+ * Writes go to the database first; the service then patches the cached entries with the saved
+ * entity instead of dropping them, so the refetch the dashboard issues after every change is served
+ * from memory. Patches run as atomic per-key updates, so a patch racing a concurrent load is applied
+ * on top of the loaded list rather than lost. Lists are bounded by the total number of tasks they
+ * hold, single tasks by count, and both by a TTL, which caps how long a write made outside this service
+ * can go unseen.
+ *
+ * Cached lists are unmodifiable and the tasks in them are shared between requests; callers must not
+ * mutate them. Hit/miss/eviction counters are published as {@code cache.*} metrics tagged
+ * {@code cache=tasks.byUser} and {@code cache=tasks.byId}, plus {@code tasks.cache.hit.ratio} and a
+ * {@code tasks.cache.load} latency histogram.
+ */
+@Component
+public class TaskCache implements MeterBinder {
+
+    private static final Comparator<TaskView> BY_ID = Comparator.comparing(TaskView::id);
+
+    private final boolean enabled;
+    private final Cache<Long, List<TaskView>> byUser;
+    private final Cache<Long, Task> byId;
+
+    // Set once metrics are bound; loads before that are simply not timed.
+    private volatile Timer userLoadTimer;
+    private volatile Timer taskLoadTimer;
+
+    public TaskCache(@Value("${tasks.cache.enabled:true}") boolean enabled,
+                     @Value("${tasks.cache.maximum-listed-tasks:200000}") long maximumListedTasks,
+                     @Value("${tasks.cache.maximum-tasks:100000}") long maximumTasks,
+                     @Value("${tasks.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        // Weighed by list length, so a few very large accounts cannot hold more rows than the bound allows
+        this.byUser = Caffeine.newBuilder()
+                .maximumWeight(maximumListedTasks)
+                .<Long, List<TaskView>>weigher((userId, tasks) -> Math.max(1, tasks.size()))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumTasks)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /** Returns the cached task list of {@code userId}, loading it with {@code loader} on a miss. */
+    public List<TaskView> getUserTasks(Long userId, Function<Long, List<TaskView>> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+        return byUser.get(userId, id -> timed(userLoadTimer, () -> sortedCopy(loader.apply(id))));
+    }
+
+    /** Returns the task with {@code id} whoever owns it; ownership is the caller's check. */
+    public Optional<Task> getTask(Long id, Function<Long, Optional<Task>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        // A loader returning null leaves nothing cached, so unknown ids are not remembered.
+        Task task = byId.get(id, key -> timed(taskLoadTimer, () -> loader.apply(key).orElse(null)));
+        return Optional.ofNullable(task);
+    }
+
+    /** Records a created or updated task in the owner's list (if cached) and in the by-id cache. */
+    public void put(Task saved) {
+        if (!enabled) {
+            return;
+        }
+        byUser.asMap().computeIfPresent(saved.getUserId(), (userId, tasks) -> upsert(tasks, TaskView.of(saved)));
+        byId.put(saved.getId(), saved);
+    }
+
+    /** Drops a deleted task from its owner's list (if cached) and from the by-id cache. */
+    public void remove(Long userId, Long id) {
+        if (!enabled) {
+            return;
+        }
+        byUser.asMap().computeIfPresent(userId, (key, tasks) -> without(tasks, id));
+        byId.invalidate(id);
+    }
+
+    public void invalidateUser(Long userId) {
+        byUser.invalidate(userId);
+    }
+
+    /** Drops the user's list and the given tasks; cheaper than patching for bulk writes. */
+    public void invalidateUser(Long userId, Collection<Long> taskIds) {
+        byUser.invalidate(userId);
+        byId.invalidateAll(taskIds);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byUser, "tasks.byUser");
+        CaffeineCacheMetrics.monitor(registry, byId, "tasks.byId");
+        Gauge.builder("tasks.cache.hit.ratio", byUser, cache -> cache.stats().hitRate())
+                .tag("cache", "tasks.byUser")
+                .register(registry);
+        Gauge.builder("tasks.cache.hit.ratio", byId, cache -> cache.stats().hitRate())
+                .tag("cache", "tasks.byId")
+                .register(registry);
+        userLoadTimer = loadTimer(registry, "tasks.byUser");
+        taskLoadTimer = loadTimer(registry, "tasks.byId");
+    }
+
+    private static Timer loadTimer(MeterRegistry registry, String cacheName) {
+        return Timer.builder("tasks.cache.load")
+                .description("Time to load a cache miss from the database")
+                .tag("cache", cacheName)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static <T> T timed(Timer timer, Supplier<T> load) {
+        return timer == null ? load.get() : timer.record(load);
+    }
+
+    private static List<TaskView> sortedCopy(List<TaskView> tasks) {
+        List<TaskView> copy = new ArrayList<>(tasks);
+        copy.sort(BY_ID);
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static List<TaskView> upsert(List<TaskView> tasks, TaskView saved) {
+        List<TaskView> copy = new ArrayList<>(tasks.size() + 1);
+        boolean replaced = false;
+        for (TaskView task : tasks) {
+            if (task.id().equals(saved.id())) {
+                copy.add(saved);
+                replaced = true;
+            } else {
+                copy.add(task);
+            }
+        }
+        if (!replaced) {
+            copy.add(saved);
+            if (copy.size() > 1 && copy.get(copy.size() - 2).id() > saved.id()) {
+                copy.sort(BY_ID);
+            }
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static List<TaskView> without(List<TaskView> tasks, Long id) {
+        List<TaskView> copy = new ArrayList<>(tasks.size());
+        for (TaskView task : tasks) {
+            if (!task.id().equals(id)) {
+                copy.add(task);
+            }
+        }
+        return Collections.unmodifiableList(copy);
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans task change events out to each user's open {@code /api/tasks/stream} connections.
+ *
+ * Connections are servlet-async {@link SseEmitter}s, so an idle subscriber holds a socket and a small
+ * buffer but no thread. {@link #publish} never blocks the writer: it appends to each subscriber's
+ * bounded queue and schedules a drain on a small shared dispatch pool. A subscriber whose queue
+ * overflows (a slow client) is sent a {@code resync} event and disconnected, so it cannot grow memory
+ * without bound; it reconnects and catches up through {@code /api/tasks/changes}. Writes themselves
+ * block, so a client that stops reading would hold a dispatch thread until the socket timed out; a
+ * write still blocked after {@code tasks.stream.write-timeout-ms} is interrupted and its subscriber
+ * dropped, which bounds how long one client can hold back the others. A comment heartbeat keeps
+ * proxies from closing idle streams and reaps connections that died silently.
+ *
+ * Events are delivered only to subscribers connected to this instance.
+ */
+@Component
+public class TaskEventHub implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventHub.class);
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String OVERDUE = "overdue";
+    private static final String RESYNC = "resync";
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Subscribers with a write in progress, including a closed one still sending its resync
+    private final Set<Subscriber> writing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final int maxPerUser;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+
+    public TaskEventHub(@Value("${tasks.stream.buffer-size:256}") int bufferSize,
+                        @Value("${tasks.stream.max-per-user:10}") int maxPerUser,
+                        @Value("${tasks.stream.timeout-minutes:30}") long timeoutMinutes,
+                        @Value("${tasks.stream.dispatch-threads:4}") int dispatchThreads,
+                        @Value("${tasks.stream.write-timeout-ms:5000}") long writeTimeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.maxPerUser = maxPerUser;
+        this.timeoutMillis = Duration.ofMinutes(timeoutMinutes).toMillis();
+        this.writeTimeoutNanos = Duration.ofMillis(writeTimeoutMillis).toNanos();
+        AtomicInteger threadIds = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream for {@code userId}, or returns null when the user already has the maximum number
+     * of open streams. The emitter times out after {@code tasks.stream.timeout-minutes}; EventSource
+     * clients reconnect on their own.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        AtomicBoolean added = new AtomicBoolean();
+        // Atomic per user, so the limit holds and the heartbeat's cleanup cannot drop the set mid-add
+        subscribers.compute(userId, (key, userSubscribers) -> {
+            Set<Subscriber> set = userSubscribers != null ? userSubscribers : ConcurrentHashMap.newKeySet();
+            if (set.size() < maxPerUser) {
+                set.add(subscriber);
+                added.set(true);
+            }
+            return set;
+        });
+        if (!added.get()) {
+            return null;
+        }
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        // Flushes headers through proxies right away so the client sees the stream open
+        subscriber.offer(frozen(SseEmitter.event().comment("connected")));
+        return emitter;
+    }
+
+    /** Queues {@code data} as a {@code type} event for every stream of {@code userId}; never blocks. */
+    public void publish(Long userId, String type, Object data) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null || userSubscribers.isEmpty()) {
+            return;
+        }
+        // Built once and shared: every stream of the user writes the same parts
+        Set<DataWithMediaType> event = frozen(SseEmitter.event()
+                .id(Long.toString(eventIds.incrementAndGet()))
+                .name(type)
+                .data(data, MediaType.APPLICATION_JSON));
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    public void publishTask(String type, TaskView task) {
+        publish(task.userId(), type, task.withoutDescription());
+    }
+
+    public void publishDeleted(Long userId, Long taskId) {
+        publish(userId, DELETED, Map.of("id", taskId));
+    }
+
+    /** Users with at least one open stream on this instance. */
+    public List<Long> subscribedUserIds() {
+        List<Long> userIds = new ArrayList<>();
+        subscribers.forEach((userId, userSubscribers) -> {
+            if (!userSubscribers.isEmpty()) {
+                userIds.add(userId);
+            }
+        });
+        return userIds;
+    }
+
+    @Scheduled(fixedRateString = "${tasks.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> heartbeat = frozen(SseEmitter.event().comment("heartbeat"));
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.offer(heartbeat);
+            }
+        }
+        for (Long userId : subscribers.keySet()) {
+            subscribers.computeIfPresent(userId, (key, userSubscribers) -> userSubscribers.isEmpty() ? null : userSubscribers);
+        }
+    }
+
+    /**
+     * Drops subscribers whose current write has been blocked for longer than
+     * {@code tasks.stream.write-timeout-ms}, so a client that stopped reading releases its dispatch thread.
+     */
+    @Scheduled(fixedDelayString = "${tasks.stream.write-timeout-ms:5000}")
+    public void evictStalledWriters() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : writing) {
+            subscriber.evictIfStalled(now);
+        }
+    }
+
+    /**
+     * The parts of {@code event}, built once. {@link SseEmitter.SseEventBuilder#build()} appends to the
+     * builder on every call and is not thread-safe, so a builder must never reach more than one stream;
+     * the unmodifiable set can be written by any number of them, concurrently.
+     */
+    private static Set<DataWithMediaType> frozen(SseEmitter.SseEventBuilder event) {
+        return Collections.unmodifiableSet(event.build());
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("tasks.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open task event streams on this instance")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        dispatcher.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // The dispatch thread inside emitter.send and when it entered it; null while not writing.
+        // Set and cleared under the subscriber's lock, so an eviction never interrupts a thread
+        // that has already moved on to another subscriber.
+        private Thread writer;
+        private long writeStartedAt;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                overflow();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's error/completion callback may not fire on its own
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+                if (!closed.get() && !queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        /** Writes one event, visible to {@link #evictIfStalled} while it blocks. */
+        private void send(Set<DataWithMediaType> event) throws IOException {
+            synchronized (this) {
+                writer = Thread.currentThread();
+                writeStartedAt = System.nanoTime();
+                writing.add(this);
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    writer = null;
+                    writing.remove(this);
+                    // An eviction may have interrupted the write just as it completed
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        synchronized void evictIfStalled(long now) {
+            if (writer == null || now - writeStartedAt < writeTimeoutNanos) {
+                return;
+            }
+            // Already closed when the stalled write is an overflow's resync
+            if (close()) {
+                logger.debug("Task event write blocked for over {} ms for userId={}, dropping the stream",
+                        TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos), userId);
+                queue.clear();
+            }
+            // Interrupting aborts the blocked socket write with an IOException, freeing the thread
+            writer.interrupt();
+        }
+
+        private void overflow() {
+            if (!close()) {
+                return;
+            }
+            logger.debug("Task event buffer overflow for userId={}, asking client to resync", userId);
+            queue.clear();
+            dispatcher.execute(() -> {
+                try {
+                    send(frozen(SseEmitter.event().name(RESYNC).data(Map.of("reason", "buffer overflow"),
+                            MediaType.APPLICATION_JSON)));
+                    emitter.complete();
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                }
+            });
+        }
+
+        /** Unregisters this subscriber; returns false if it was already closed. */
+        private boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            Set<Subscriber> userSubscribers = subscribers.get(userId);
+            if (userSubscribers != null) {
+                userSubscribers.remove(this);
+            }
+            subscriberCount.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Per-user inverted index over task titles and descriptions, for {@code GET /api/tasks/search}.
+ *
+ * Text is folded to lower-case ASCII where possible (accents stripped) and split into runs of letters
+ * and digits. Each user's vocabulary is a sorted map from term to a postings list of (task, weight)
+ * pairs, where a title occurrence weighs {@value #TITLE_WEIGHT} and a description occurrence 1. A
+ * query matches tasks containing every query term; the last term also matches as a prefix unless the
+ * query ends in whitespace or the term is a single character (which would expand to a large share of
+ * the vocabulary), so results follow the user as they type. Matches are ranked by the summed
+ * weights of the matched terms, each scaled by how rare the term is among the user's tasks, with
+ * prefix expansions counting {@value #PREFIX_FACTOR} of an exact match; ties go to the newest task.
+ *
+ * Tasks are numbered densely within each user's index, so postings hold ints and a query scores into
+ * flat arrays instead of hash maps. Only the lean listing row (no description) is kept per task.
+ *
+ * {@link TaskService} keeps the index current after every committed write, and
+ * {@link TaskSearchIndexLoader} fills it from the database at startup; until then {@link #isReady()}
+ * is false and searches go to the database. Writes made through other instances are picked up by the
+ * loader's periodic catch-up, so they show up within {@code tasks.search.catch-up-ms}.
+ */
+@Component
+public class TaskSearchIndex implements MeterBinder {
+
+    static final int TITLE_WEIGHT = 3;
+    static final float PREFIX_FACTOR = 0.75f;
+    // Longer runs are truncated; nobody types 40 characters of one word into a search box
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final boolean enabled;
+    private final Map<Long, UserIndex> users = new ConcurrentHashMap<>();
+
+    // Totals across users, for the memory estimate and gauges
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong termCount = new AtomicLong();
+    private final AtomicLong postingCount = new AtomicLong();
+    private final AtomicLong termChars = new AtomicLong();
+
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+    // Tasks written while the startup load runs; the load must not overwrite them with what it read earlier
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    // Set once metrics are bound; lookups before that are simply not timed.
+    private volatile Timer lookupTimer;
+
+    public TaskSearchIndex(@Value("${tasks.search.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Whether the index holds every task; false while disabled or until the startup load completes. */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /** Adds or replaces {@code task}, which must carry its description. */
+    public void index(TaskView task) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            touchedDuringRebuild.add(task.id());
+        }
+        userIndex(task.userId()).put(task);
+    }
+
+    public void remove(Long userId, Long taskId) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            touchedDuringRebuild.add(taskId);
+        }
+        UserIndex index = users.get(userId);
+        if (index != null) {
+            index.remove(taskId);
+        }
+    }
+
+    /**
+     * Up to {@code limit} of the user's tasks matching {@code query}, best first, as lean rows.
+     * A query without any letters or digits matches nothing.
+     */
+    public List<TaskView> search(Long userId, String query, int limit) {
+        List<String> terms = tokenize(query);
+        UserIndex index = users.get(userId);
+        if (terms.isEmpty() || index == null || limit <= 0) {
+            return List.of();
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+        // Without trailing whitespace the last word is probably still being typed
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+        List<String> queryTerms = terms;
+        Timer timer = lookupTimer;
+        if (timer == null) {
+            return index.search(queryTerms, lastIsPrefix, limit);
+        }
+        return timer.record(() -> index.search(queryTerms, lastIsPrefix, limit));
+    }
+
+    /**
+     * Indexes {@code task} as re-read from the database by a catch-up, unless the index already holds a
+     * later update of it, written through this instance after the catch-up read the row.
+     */
+    void refresh(TaskView task) {
+        if (!enabled) {
+            return;
+        }
+        userIndex(task.userId()).putIfNotOlder(task);
+    }
+
+    void beginRebuild() {
+        ready = false;
+        rebuilding = true;
+    }
+
+    /** Indexes {@code task} as read by the startup load, unless a write has already indexed or removed it. */
+    void load(TaskView task) {
+        if (!touchedDuringRebuild.contains(task.id())) {
+            userIndex(task.userId()).putIfUntouched(task, touchedDuringRebuild);
+        }
+    }
+
+    void finishRebuild() {
+        rebuilding = false;
+        touchedDuringRebuild.clear();
+        ready = true;
+    }
+
+    /** Gives up on a failed load; the index stays not ready and searches keep going to the database. */
+    void abandonRebuild() {
+        rebuilding = false;
+        touchedDuringRebuild.clear();
+    }
+
+    public long taskCount() {
+        return taskCount.get();
+    }
+
+    /**
+     * Rough heap footprint of the index in bytes, assuming a 64-bit JVM with compressed oops: the
+     * postings arrays, the term strings and their tree nodes, and per task its lean row, its term list
+     * and its id mapping. {@code TaskSearchIndexBenchmark} compares it with the measured heap growth.
+     */
+    public long estimatedBytes() {
+        // Postings arrays grow by half, so on average a quarter of their capacity is spare
+        long postings = postingCount.get() * (Integer.BYTES + Short.BYTES) * 5 / 4;
+        long terms = termCount.get() * (40 /* tree node */ + 24 /* String */ + 16 /* byte[] header */ + 40 /* Postings */)
+                + termChars.get();
+        long tasks = taskCount.get() * (280 /* lean TaskView: boxed ids, title, three LocalDateTimes */
+                + 48 /* id -> ordinal entry */ + 16 /* term list */ + 8 /* slot refs */);
+        long taskTermRefs = postingCount.get() * 4;
+        return postings + terms + tasks + taskTermRefs;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("tasks.search.index.tasks", taskCount, AtomicLong::get)
+                .description("Tasks in the search index")
+                .register(registry);
+        Gauge.builder("tasks.search.index.terms", termCount, AtomicLong::get)
+                .description("Distinct (user, term) pairs in the search index")
+                .register(registry);
+        Gauge.builder("tasks.search.index.bytes", this, TaskSearchIndex::estimatedBytes)
+                .description("Estimated heap used by the search index")
+                .baseUnit("bytes")
+                .register(registry);
+        lookupTimer = Timer.builder("tasks.search.lookup")
+                .description("Time to answer a search from the index")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** Lower-cased, accent-stripped runs of letters and digits in {@code text}, in order, with repeats. */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token);
+            }
+        }
+        return tokens;
+    }
+
+    private UserIndex userIndex(Long userId) {
+        return users.computeIfAbsent(userId, key -> new UserIndex());
+    }
+
+    /** One user's tasks and vocabulary. Reads share the lock; writes take it exclusively. */
+    private final class UserIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private TaskView[] views = new TaskView[16];
+        private String[][] taskTerms = new String[16][];
+        private int[] freeOrdinals = new int[0];
+        private int freeCount;
+        private int highWater;
+
+        void put(TaskView task) {
+            lock.writeLock().lock();
+            try {
+                putLocked(task);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void putIfUntouched(TaskView task, Collection<Long> touched) {
+            lock.writeLock().lock();
+            try {
+                // Checked again under the lock a write must also take
+                if (!touched.contains(task.id())) {
+                    putLocked(task);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void putIfNotOlder(TaskView task) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(task.id());
+                LocalDateTime indexed = ordinal != null ? views[ordinal].updatedAt() : null;
+                if (indexed == null || task.updatedAt() == null || !indexed.isAfter(task.updatedAt())) {
+                    putLocked(task);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long taskId) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.remove(taskId);
+                if (ordinal != null) {
+                    unindex(ordinal);
+                    views[ordinal] = null;
+                    release(ordinal);
+                    taskCount.decrementAndGet();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void putLocked(TaskView task) {
+            Integer existing = ordinals.get(task.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unindex(ordinal);
+            } else {
+                ordinal = allocate();
+                ordinals.put(task.id(), ordinal);
+                taskCount.incrementAndGet();
+            }
+            views[ordinal] = task.withoutDescription();
+
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String term : tokenize(task.title())) {
+                weights.merge(term, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String term : tokenize(task.description())) {
+                weights.merge(term, 1, Integer::sum);
+            }
+            String[] distinct = new String[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                Postings postings = terms.get(entry.getKey());
+                if (postings == null) {
+                    postings = new Postings(entry.getKey());
+                    terms.put(entry.getKey(), postings);
+                    termCount.incrementAndGet();
+                    termChars.addAndGet(entry.getKey().length());
+                }
+                postings.add(ordinal, (short) Math.min(entry.getValue(), Short.MAX_VALUE));
+                postingCount.incrementAndGet();
+                // The map's copy of the term, so tasks sharing a word share one String
+                distinct[i++] = postings.term;
+            }
+            taskTerms[ordinal] = distinct;
+        }
+
+        private void unindex(int ordinal) {
+            String[] previous = taskTerms[ordinal];
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous) {
+                Postings postings = terms.get(term);
+                if (postings != null && postings.remove(ordinal)) {
+                    postingCount.decrementAndGet();
+                    if (postings.size == 0) {
+                        terms.remove(term);
+                        termCount.decrementAndGet();
+                        termChars.addAndGet(-term.length());
+                    }
+                }
+            }
+            taskTerms[ordinal] = null;
+        }
+
+        private int allocate() {
+            if (freeCount > 0) {
+                return freeOrdinals[--freeCount];
+            }
+            if (highWater == views.length) {
+                views = Arrays.copyOf(views, views.length * 2);
+                taskTerms = Arrays.copyOf(taskTerms, taskTerms.length * 2);
+            }
+            return highWater++;
+        }
+
+        private void release(int ordinal) {
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, Math.max(16, freeCount * 2));
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        }
+
+        List<TaskView> search(List<String> queryTerms, boolean lastIsPrefix, int limit) {
+            lock.readLock().lock();
+            try {
+                int size = highWater;
+                float[] scores = new float[size];
+                // How many query terms each task has matched so far; a task drops out at the first miss
+                byte[] matched = new byte[size];
+                double live = ordinals.size();
+
+                for (int q = 0; q < queryTerms.size(); q++) {
+                    String term = queryTerms.get(q);
+                    boolean anyMatch = false;
+                    if (lastIsPrefix && q == queryTerms.size() - 1 && term.length() >= MIN_PREFIX_LENGTH) {
+                        NavigableMap<String, Postings> expansions =
+                                terms.subMap(term, true, term + Character.MAX_VALUE, false);
+                        for (Map.Entry<String, Postings> expansion : expansions.entrySet()) {
+                            float factor = expansion.getKey().length() == term.length() ? 1f : PREFIX_FACTOR;
+                            anyMatch |= score(expansion.getValue(), factor, live, q, scores, matched);
+                        }
+                    } else {
+                        Postings postings = terms.get(term);
+                        if (postings != null) {
+                            anyMatch = score(postings, 1f, live, q, scores, matched);
+                        }
+                    }
+                    if (!anyMatch) {
+                        return List.of();
+                    }
+                }
+                return top(scores, matched, (byte) queryTerms.size(), limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Adds this term's contribution to every task that matched all earlier query terms
+        private boolean score(Postings postings, float factor, double live, int q,
+                              float[] scores, byte[] matched) {
+            float idf = (float) Math.log(1 + live / postings.size) * factor;
+            boolean any = false;
+            for (int k = 0; k < postings.size; k++) {
+                int ordinal = postings.ordinals[k];
+                // q: matched every earlier term; q + 1: already matched this one through another expansion
+                if (matched[ordinal] == q || matched[ordinal] == q + 1) {
+                    scores[ordinal] += postings.weights[k] * idf;
+                    matched[ordinal] = (byte) (q + 1);
+                    any = true;
+                }
+            }
+            return any;
+        }
+
+        private List<TaskView> top(float[] scores, byte[] matched, byte required, int limit) {
+            // Binary min-heap of the best `limit` ordinals so far, kept in an int[] to avoid boxing;
+            // the root is the weakest and the first to be replaced
+            int[] heap = new int[limit];
+            int size = 0;
+            for (int ordinal = 0; ordinal < matched.length; ordinal++) {
+                if (matched[ordinal] != required) {
+                    continue;
+                }
+                if (size < limit) {
+                    heap[size] = ordinal;
+                    siftUp(heap, size++, scores);
+                } else if (compare(scores, ordinal, heap[0]) > 0) {
+                    heap[0] = ordinal;
+                    siftDown(heap, size, scores);
+                }
+            }
+            TaskView[] ranked = new TaskView[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ranked[i] = views[heap[0]];
+                heap[0] = heap[i];
+                siftDown(heap, i, scores);
+            }
+            return Arrays.asList(ranked);
+        }
+
+        private void siftUp(int[] heap, int at, float[] scores) {
+            while (at > 0) {
+                int parent = (at - 1) >>> 1;
+                if (compare(scores, heap[at], heap[parent]) >= 0) {
+                    return;
+                }
+                swap(heap, at, parent);
+                at = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size, float[] scores) {
+            int at = 0;
+            while (true) {
+                int smallest = at;
+                int left = 2 * at + 1;
+                int right = left + 1;
+                if (left < size && compare(scores, heap[left], heap[smallest]) < 0) {
+                    smallest = left;
+                }
+                if (right < size && compare(scores, heap[right], heap[smallest]) < 0) {
+                    smallest = right;
+                }
+                if (smallest == at) {
+                    return;
+                }
+                swap(heap, at, smallest);
+                at = smallest;
+            }
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+
+        private int compare(float[] scores, int a, int b) {
+            int byScore = Float.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Long.compare(views[a].id(), views[b].id());
+        }
+    }
+
+    /** Ordinals of the tasks containing one term, ascending, with the term's weight in each. */
+    private static final class Postings {
+
+        private final String term;
+        private int[] ordinals = new int[2];
+        private short[] weights = new short[2];
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int ordinal, short weight) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at >= 0) {
+                weights[at] = weight;
+                return;
+            }
+            at = -at - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+                weights = Arrays.copyOf(weights, ordinals.length);
+            }
+            System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+            System.arraycopy(weights, at, weights, at + 1, size - at);
+            ordinals[at] = ordinal;
+            weights[at] = weight;
+            size++;
+        }
+
+        boolean remove(int ordinal) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+            System.arraycopy(weights, at + 1, weights, at, size - at - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.entity.TaskTombstone;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskSpecifications;
+import com.example.taskservice.repository.TaskTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fills {@link TaskSearchIndex} from the database once the application is up, on a background
+ * thread so startup and traffic are not held back. Tasks are read in primary-key order,
+ * {@code tasks.search.load-chunk} rows per SELECT; writes made meanwhile are indexed by the service
+ * and win over the rows the load read before them.
+ *
+ * After that, every {@code tasks.search.catch-up-ms} it applies the writes made through other
+ * instances: tasks whose {@code updated_at} and tombstones whose {@code deleted_at} are past the
+ * previous catch-up, the same rows delta sync reports. Like delta sync, the watermark trails by
+ * {@code tasks.changes.grace-seconds} so writes committed late with an earlier timestamp are not missed.
+ */
+@Component
+public class TaskSearchIndexLoader {
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndexLoader.class);
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Value("${tasks.search.load-chunk:5000}")
+    private int chunkSize;
+
+    @Value("${tasks.changes.grace-seconds:5}")
+    private long graceSeconds;
+
+    // Start of the last load or catch-up; rows changed after it minus the grace period are re-read
+    private volatile LocalDateTime caughtUpTo;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (!searchIndex.isEnabled()) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "task-search-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void load() {
+        long started = System.nanoTime();
+        LocalDateTime loadStarted = LocalDateTime.now();
+        searchIndex.beginRebuild();
+        try {
+            readInChunks(null, searchIndex::load);
+            searchIndex.finishRebuild();
+            caughtUpTo = loadStarted;
+            logger.info("Search index loaded {} tasks in {} ms (~{} bytes)", searchIndex.taskCount(),
+                    (System.nanoTime() - started) / 1_000_000, searchIndex.estimatedBytes());
+        } catch (RuntimeException e) {
+            searchIndex.abandonRebuild();
+            logger.error("Search index load failed; searches will query the database", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.search.catch-up-ms:60000}",
+               initialDelayString = "${tasks.search.catch-up-ms:60000}")
+    public void catchUp() {
+        LocalDateTime from = caughtUpTo;
+        if (from == null || !searchIndex.isReady()) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        from = from.minusSeconds(graceSeconds);
+        try {
+            int[] refreshed = {0};
+            readInChunks(TaskSpecifications.updatedAfter(from), task -> {
+                searchIndex.refresh(task);
+                refreshed[0]++;
+            });
+            List<TaskTombstone> tombstones = tombstoneRepository.findByDeletedAtAfter(from);
+            for (TaskTombstone tombstone : tombstones) {
+                searchIndex.remove(tombstone.getUserId(), tombstone.getTaskId());
+            }
+            caughtUpTo = started;
+            logger.debug("Search index caught up with {} changed and {} deleted tasks", refreshed[0],
+                    tombstones.size());
+        } catch (RuntimeException e) {
+            // The watermark stays put, so the next run retries the same window
+            logger.warn("Search index catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    /** Every task matching {@code filter} (all when null), in id order, {@code chunkSize} per SELECT. */
+    private void readInChunks(Specification<Task> filter, Consumer<TaskView> action) {
+        long afterId = 0;
+        while (true) {
+            Specification<Task> chunkSpec = TaskSpecifications.idAfter(afterId);
+            if (filter != null) {
+                chunkSpec = filter.and(chunkSpec);
+            }
+            List<TaskView> chunk = taskRepository.findViews(chunkSpec, BY_ID, chunkSize, true);
+            chunk.forEach(action);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            afterId = chunk.get(chunk.size() - 1).id();
+        }
+    }
+}
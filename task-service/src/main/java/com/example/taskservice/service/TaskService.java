@@ -1,27 +1,122 @@
 package com.example.taskservice.service;
 
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskBatchRequest;
+import com.example.taskservice.dto.TaskBatchResult;
+import com.example.taskservice.dto.TaskChanges;
+import com.example.taskservice.dto.TaskCursor;
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.dto.TaskPage;
+import com.example.taskservice.dto.TaskStats;
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
 import com.example.taskservice.entity.Task;
+import com.example.taskservice.entity.TaskTombstone;
 import com.example.taskservice.entity.Status;
 import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskSpecifications;
+import com.example.taskservice.repository.TaskTombstoneRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
+
+    private static final Sort BY_ID = Sort.by("id");
+    private static final Sort BY_DUE_DATE = Sort.by("dueDate", "id");
+    private static final Sort BY_UPDATED_AT = Sort.by("updatedAt", "id");
+    // Ids per IN list when loading batch targets
+    private static final int LOAD_CHUNK = 1000;
     
     @Autowired
     private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskVersions taskVersions;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TaskEventHub eventHub;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskStatsService statsService;
+
+    @Autowired
+    private ReplicaReads replicaReads;
+
+    @Value("${tasks.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${tasks.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${tasks.list.fetch-size:500}")
+    private int listFetchSize;
+
+    @Value("${tasks.changes.grace-seconds:5}")
+    private long changesGraceSeconds;
+
+    @Value("${tasks.changes.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays;
     
-    public List<Task> getAllTasksByUserId(Long userId) {
-        return taskRepository.findByUserId(userId);
+    /**
+     * Changes whenever one of the user's tasks is created, updated or deleted, through any instance of
+     * either deployment; see {@link TaskVersions}. Read it before the listing it tags so a concurrent
+     * write can only make the tag older, never newer.
+     */
+    public String getTasksVersion(Long userId) {
+        // A version this instance has not seen reloads the cached list, which missed writes made elsewhere
+        return taskVersions.current(userId, taskCache::invalidateUser);
+    }
+
+    /**
+     * The user's tasks ordered by id, with descriptions, served from {@link TaskCache} and loaded on a
+     * miss through the read-only projection path.
+     */
+    public List<TaskView> getAllTasksByUserId(Long userId) {
+        return taskCache.getUserTasks(userId, id -> replicaReads.read(id,
+                () -> taskRepository.findViews(TaskSpecifications.ownedBy(id), BY_ID, 0, true)));
     }
     
     public Optional<Task> getTaskById(Long id, Long userId) {
-        Optional<Task> task = taskRepository.findById(id);
+        // Misses are loaded with the owner in the WHERE clause; hits are shared across users, so check again.
+        Optional<Task> task = taskCache.getTask(id,
+                key -> replicaReads.read(userId, () -> taskRepository.findByIdAndUserId(key, userId)));
         if (task.isPresent() && !task.get().getUserId().equals(userId)) {
             return Optional.empty();
         }
@@ -29,51 +124,445 @@ public class TaskService {
     }
     
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        statsService.ensureCounters(task.getUserId());
+        AtomicLong version = new AtomicLong();
+        Task saved = transactionTemplate.execute(status -> {
+            Task inserted = taskRepository.save(task);
+            statsService.apply(inserted.getUserId(),
+                    TaskStatsDelta.of(inserted.getStatus(), inserted.getPriority(), 1));
+            version.set(taskVersions.increment(inserted.getUserId()));
+            return inserted;
+        });
+        taskCache.put(saved);
+        taskVersions.applied(saved.getUserId(), version.get());
+        searchIndex.index(TaskView.of(saved));
+        replicaReads.recordWrite(saved.getUserId());
+        eventHub.publishTask(TaskEventHub.CREATED, TaskView.of(saved));
+        return saved;
     }
     
+    /**
+     * Locks the task row (ownership-checked), updates it in one UPDATE and moves it between the status
+     * and priority counters, all in one transaction. The returned task is built from the locked row and
+     * the new values, so it is not read again.
+     */
     public Optional<Task> updateTask(Long id, Task taskDetails, Long userId) {
-        Optional<Task> existingTask = taskRepository.findById(id);
-        
-        if (existingTask.isPresent() && existingTask.get().getUserId().equals(userId)) {
-            Task task = existingTask.get();
-            task.setTitle(taskDetails.getTitle());
-            task.setDescription(taskDetails.getDescription());
-            task.setPriority(taskDetails.getPriority());
-            task.setStatus(taskDetails.getStatus());
-            task.setDueDate(taskDetails.getDueDate());
-            task.setUpdatedAt(LocalDateTime.now());
-            
-            return Optional.of(taskRepository.save(task));
-        }
-        
-        return Optional.empty();
+        statsService.ensureCounters(userId);
+        AtomicLong version = new AtomicLong();
+        Task saved = transactionTemplate.execute(status -> {
+            Optional<Task> current = taskRepository.findForUpdateByIdAndUserId(id, userId);
+            if (current.isEmpty()) {
+                return null;
+            }
+            Status previousStatus = current.get().getStatus();
+            Priority previousPriority = current.get().getPriority();
+            LocalDateTime createdAt = current.get().getCreatedAt();
+            // Taken once the lock is held, so updatedAt follows the write it waited for
+            LocalDateTime now = LocalDateTime.now();
+
+            taskRepository.updateOwned(id, userId, taskDetails.getTitle(), taskDetails.getDescription(),
+                    taskDetails.getPriority(), taskDetails.getStatus(), taskDetails.getDueDate(), now);
+            TaskStatsDelta delta = new TaskStatsDelta();
+            delta.move(previousStatus, previousPriority, taskDetails.getStatus(), taskDetails.getPriority());
+            statsService.apply(userId, delta);
+            version.set(taskVersions.increment(userId));
+
+            // A new instance: the cached one is shared between requests and must not be mutated
+            Task updated = new Task();
+            updated.setId(id);
+            updated.setUserId(userId);
+            updated.setCreatedAt(createdAt);
+            updated.setTitle(taskDetails.getTitle());
+            updated.setDescription(taskDetails.getDescription());
+            updated.setPriority(taskDetails.getPriority());
+            updated.setStatus(taskDetails.getStatus());
+            updated.setDueDate(taskDetails.getDueDate());
+            updated.setUpdatedAt(now);
+            return updated;
+        });
+        if (saved == null) {
+            return Optional.empty();
+        }
+        taskCache.put(saved);
+        taskVersions.applied(userId, version.get());
+        searchIndex.index(TaskView.of(saved));
+        replicaReads.recordWrite(userId);
+        eventHub.publishTask(TaskEventHub.UPDATED, TaskView.of(saved));
+        return Optional.of(saved);
     }
     
+    /**
+     * Deletes the task with one ownership-checked DELETE; the tombstone and the counter decrement are
+     * written in the same transaction.
+     */
     public boolean deleteTask(Long id, Long userId) {
-        Optional<Task> task = taskRepository.findById(id);
-        
-        if (task.isPresent() && task.get().getUserId().equals(userId)) {
-            taskRepository.deleteById(id);
+        statsService.ensureCounters(userId);
+        AtomicLong version = new AtomicLong();
+        Boolean deleted = transactionTemplate.execute(status -> {
+            Optional<Task> current = taskRepository.findForUpdateByIdAndUserId(id, userId);
+            if (current.isEmpty()) {
+                return false;
+            }
+            TaskStatsDelta delta = TaskStatsDelta.of(current.get().getStatus(), current.get().getPriority(), -1);
+            taskRepository.deleteOwned(id, userId);
+            tombstoneRepository.save(new TaskTombstone(id, userId, LocalDateTime.now()));
+            statsService.apply(userId, delta);
+            version.set(taskVersions.increment(userId));
             return true;
+        });
+        if (!Boolean.TRUE.equals(deleted)) {
+            return false;
         }
-        
-        return false;
+        // The cache follows only once the delete, its tombstone and the new version are committed
+        taskCache.remove(userId, id);
+        taskVersions.applied(userId, version.get());
+        searchIndex.remove(userId, id);
+        replicaReads.recordWrite(userId);
+        eventHub.publishDeleted(userId, id);
+        return true;
+    }
+
+    public TaskStats getStats(Long userId) {
+        return replicaReads.read(userId, () -> statsService.getStats(userId));
     }
     
-    public List<Task> getTasksByStatus(Long userId, Status status) {
-        return taskRepository.findByUserIdAndStatus(userId, status);
+    // Status, priority, overdue and date-range views are filtered from the cached full list:
+    // a user's list is small and usually already cached by the dashboard's last refetch.
+    // Listings carry descriptions only when withDescription is set (?fields=description).
+
+    public List<TaskView> getTasksByStatus(Long userId, Status status, boolean withDescription) {
+        return filterCached(userId, task -> task.status() == status, withDescription);
     }
 
-    public List<Task> getTasksByPriority(Long userId, com.example.taskservice.entity.Priority priority) {
-        return taskRepository.findByUserIdAndPriority(userId, priority);
+    public List<TaskView> getTasksByPriority(Long userId, Priority priority,
+                                             boolean withDescription) {
+        return filterCached(userId, task -> task.priority() == priority, withDescription);
     }
     
-    public List<Task> getOverdueTasks(Long userId) {
-        return taskRepository.findOverdueTasksByUserId(userId, LocalDateTime.now());
+    public List<TaskView> getOverdueTasks(Long userId, boolean withDescription) {
+        LocalDateTime now = LocalDateTime.now();
+        return filterCached(userId, task -> task.status() != Status.DONE
+                && task.dueDate() != null && task.dueDate().isBefore(now), withDescription);
     }
     
-    public List<Task> getTasksByDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        return taskRepository.findTasksByUserIdAndDateRange(userId, startDate, endDate);
+    public List<TaskView> getTasksByDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                              boolean withDescription) {
+        return filterCached(userId, task -> task.dueDate() != null
+                && !task.dueDate().isBefore(startDate) && !task.dueDate().isAfter(endDate), withDescription);
+    }
+
+    /**
+     * Every task of {@code userId} matching {@code filter}. The unfiltered listing comes from the cache;
+     * anything narrower is fetched with a single projection SELECT that skips the description column
+     * unless it is asked for.
+     */
+    public List<TaskView> findTasks(Long userId, TaskFilter filter, boolean withDescription) {
+        if (filter == null || filter.isEmpty()) {
+            return filterCached(userId, task -> true, withDescription);
+        }
+        return replicaReads.read(userId, () -> taskRepository.findViews(
+                TaskSpecifications.matching(userId, filter, LocalDateTime.now()), BY_ID, 0, withDescription));
+    }
+
+    /**
+     * Same rows as {@link #findTasks}, passed to {@code action} one at a time as they are read from a
+     * forward-only result stream, {@code tasks.list.fetch-size} rows per round trip. Nothing is
+     * collected and the cache is bypassed, so memory use does not depend on how many tasks the user has.
+     * The read-only transaction, and its connection, stay open until the last row has been handled.
+     */
+    public void forEachTask(Long userId, TaskFilter filter, boolean withDescription, Consumer<TaskView> action) {
+        Specification<Task> spec = TaskSpecifications.matching(userId, filter, LocalDateTime.now());
+        replicaReads.readInTransaction(userId, () -> {
+            try (Stream<Task> tasks = taskRepository.stream(spec, BY_ID, listFetchSize)) {
+                tasks.forEach(task -> {
+                    TaskView view = TaskView.of(task);
+                    action.accept(withDescription ? view : view.withoutDescription());
+                });
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Applies {@code operations} in order, in one transaction, and reports one result per operation.
+     * An invalid operation or one targeting a task the user does not own is reported and skipped
+     * without failing the others; a database error rolls the whole batch back.
+     *
+     * Targets of updates and deletes are loaded and locked with one SELECT ... FOR UPDATE per
+     * {@value #LOAD_CHUNK} ids, so the counters move from the values that are replaced, and the
+     * resulting INSERTs, UPDATEs and DELETEs are flushed as JDBC batches.
+     */
+    public List<TaskBatchResult> applyBatch(Long userId, List<TaskBatchRequest.Operation> operations) {
+        List<TaskBatchResult> results = new ArrayList<>(operations.size());
+        Set<Long> touched = new HashSet<>();
+        AtomicLong version = new AtomicLong();
+        statsService.ensureCounters(userId);
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Task> owned = loadOwned(userId, operations);
+            List<TaskTombstone> tombstones = new ArrayList<>();
+            TaskStatsDelta stats = new TaskStatsDelta();
+            LocalDateTime now = LocalDateTime.now();
+
+            for (int i = 0; i < operations.size(); i++) {
+                TaskBatchRequest.Operation operation = operations.get(i);
+                String invalid = validate(operation);
+                if (invalid != null) {
+                    results.add(TaskBatchResult.invalid(i, operation.getId(), invalid));
+                    continue;
+                }
+                switch (operation.getOp()) {
+                    case CREATE -> {
+                        Task task = new Task();
+                        copyFields(operation.getTask(), task);
+                        task.setUserId(userId);
+                        taskRepository.save(task);
+                        stats.add(task.getStatus(), task.getPriority(), 1);
+                        touched.add(task.getId());
+                        results.add(TaskBatchResult.created(i, task));
+                    }
+                    case UPDATE -> {
+                        Task task = owned.get(operation.getId());
+                        if (task == null) {
+                            results.add(TaskBatchResult.notFound(i, operation.getId()));
+                            continue;
+                        }
+                        // Managed entity: the UPDATE is issued by dirty checking at flush
+                        Status previousStatus = task.getStatus();
+                        Priority previousPriority = task.getPriority();
+                        copyFields(operation.getTask(), task);
+                        stats.move(previousStatus, previousPriority, task.getStatus(), task.getPriority());
+                        touched.add(task.getId());
+                        results.add(TaskBatchResult.updated(i, task));
+                    }
+                    case DELETE -> {
+                        Task task = owned.remove(operation.getId());
+                        if (task == null) {
+                            results.add(TaskBatchResult.notFound(i, operation.getId()));
+                            continue;
+                        }
+                        taskRepository.delete(task);
+                        stats.add(task.getStatus(), task.getPriority(), -1);
+                        tombstones.add(new TaskTombstone(task.getId(), userId, now));
+                        touched.add(task.getId());
+                        results.add(TaskBatchResult.deleted(i, task.getId()));
+                    }
+                }
+            }
+            tombstoneRepository.saveAll(tombstones);
+            statsService.apply(userId, stats);
+            // Flush inside the transaction so @PreUpdate timestamps are set on the returned tasks
+            taskRepository.flush();
+            if (!touched.isEmpty()) {
+                version.set(taskVersions.increment(userId));
+            }
+        });
+
+        if (!touched.isEmpty()) {
+            taskCache.invalidateUser(userId, touched);
+            taskVersions.applied(userId, version.get());
+            replicaReads.recordWrite(userId);
+            indexAndPublishBatch(userId, results);
+        }
+        return results;
+    }
+
+    private void indexAndPublishBatch(Long userId, List<TaskBatchResult> results) {
+        for (TaskBatchResult result : results) {
+            if (result.getStatus() == 201) {
+                searchIndex.index(TaskView.of(result.getTask()));
+                eventHub.publishTask(TaskEventHub.CREATED, TaskView.of(result.getTask()));
+            } else if (result.getStatus() == 200 && result.getTask() != null) {
+                searchIndex.index(TaskView.of(result.getTask()));
+                eventHub.publishTask(TaskEventHub.UPDATED, TaskView.of(result.getTask()));
+            } else if (result.getStatus() == 200) {
+                searchIndex.remove(userId, result.getId());
+                eventHub.publishDeleted(userId, result.getId());
+            }
+        }
+    }
+
+    /**
+     * Up to {@code limit} of the user's tasks matching the words of {@code query}, best match first;
+     * see {@link TaskSearchIndex} for matching and ranking. Until the index has loaded (or when it is
+     * disabled) this is a substring match in the database, in id order.
+     */
+    public List<TaskView> searchTasks(Long userId, String query, Integer limit, boolean withDescription) {
+        int size = resolvePageSize(limit);
+        if (!searchIndex.isReady()) {
+            return replicaReads.read(userId, () -> taskRepository.findViews(TaskSpecifications.ownedBy(userId)
+                    .and(TaskSpecifications.textContains(query)), BY_ID, size, withDescription));
+        }
+        List<TaskView> hits = searchIndex.search(userId, query, size);
+        if (!withDescription || hits.isEmpty()) {
+            return hits;
+        }
+        // The index keeps lean rows only; fetch descriptions in one SELECT and keep the ranking
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (TaskView hit : hits) {
+            ids.add(hit.id());
+        }
+        Map<Long, TaskView> full = new HashMap<>();
+        for (TaskView task : replicaReads.read(userId, () -> taskRepository.findViews(
+                TaskSpecifications.ownedBy(userId).and(TaskSpecifications.idIn(ids)), BY_ID, 0, true))) {
+            full.put(task.id(), task);
+        }
+        List<TaskView> ranked = new ArrayList<>(hits.size());
+        for (TaskView hit : hits) {
+            ranked.add(full.getOrDefault(hit.id(), hit));
+        }
+        return ranked;
+    }
+
+    /**
+     * Sends an {@code overdue} event for each open task of a currently streaming user whose due date
+     * fell in {@code [from, to)}. Only users with an open stream are queried, {@value #LOAD_CHUNK} per SELECT.
+     */
+    public void publishNewlyOverdue(LocalDateTime from, LocalDateTime to) {
+        List<Long> userIds = eventHub.subscribedUserIds();
+        for (int start = 0; start < userIds.size(); start += LOAD_CHUNK) {
+            List<Long> chunk = userIds.subList(start, Math.min(start + LOAD_CHUNK, userIds.size()));
+            Specification<Task> spec = TaskSpecifications.ownedByAny(chunk)
+                    .and(TaskSpecifications.overdue(to))
+                    .and(TaskSpecifications.dueOnOrAfter(from));
+            for (TaskView task : taskRepository.findViews(spec, BY_DUE_DATE, 0, false)) {
+                eventHub.publishTask(TaskEventHub.OVERDUE, task);
+            }
+        }
+    }
+
+    private Map<Long, Task> loadOwned(Long userId, List<TaskBatchRequest.Operation> operations) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskBatchRequest.Operation operation : operations) {
+            if (operation.getOp() != TaskBatchRequest.OperationType.CREATE && operation.getId() != null) {
+                ids.add(operation.getId());
+            }
+        }
+        // Ascending across chunks too, so concurrent batches take their row locks in the same order
+        Collections.sort(ids);
+        Map<Long, Task> owned = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size()));
+            for (Task task : taskRepository.findForUpdateByUserIdAndIdInOrderByIdAsc(userId, chunk)) {
+                owned.put(task.getId(), task);
+            }
+        }
+        return owned;
+    }
+
+    private String validate(TaskBatchRequest.Operation operation) {
+        if (operation.getOp() == null) {
+            return "op is required";
+        }
+        if (operation.getOp() != TaskBatchRequest.OperationType.CREATE && operation.getId() == null) {
+            return "id is required";
+        }
+        if (operation.getOp() == TaskBatchRequest.OperationType.DELETE) {
+            return null;
+        }
+        if (operation.getTask() == null) {
+            return "task is required";
+        }
+        Set<ConstraintViolation<CreateTaskRequest>> violations = validator.validate(operation.getTask());
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private static void copyFields(CreateTaskRequest source, Task target) {
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        target.setPriority(source.getPriority());
+        target.setStatus(source.getStatus());
+        target.setDueDate(source.getDueDate());
+    }
+
+    /**
+     * Tasks created or updated, and ids of tasks deleted, after the watermark {@code since} (a token from
+     * a previous call), or the full list when {@code since} is null or older than the tombstone retention.
+     *
+     * The returned watermark trails the current time by a grace period, so a write whose transaction
+     * committed after this read but carries an earlier {@code updatedAt} is picked up by the next call.
+     * Tasks may therefore be reported more than once; clients apply them as upserts by id.
+     * It reads the primary: a replica lagging by more than the grace period would move the watermark
+     * past writes it has not applied yet, and those would never be reported.
+     */
+    public TaskChanges getChangesSince(Long userId, String since) {
+        LocalDateTime now = LocalDateTime.now();
+        String watermark = TaskCursor.encodeWatermark(now.minusSeconds(changesGraceSeconds));
+        LocalDateTime from = since != null ? TaskCursor.decodeWatermark(since) : null;
+
+        if (from == null || from.isBefore(now.minusDays(tombstoneRetentionDays))) {
+            List<TaskView> all = taskRepository.findViews(TaskSpecifications.ownedBy(userId), BY_ID, 0, true);
+            return new TaskChanges(all, List.of(), watermark, true);
+        }
+
+        List<TaskView> changed = taskRepository.findViews(
+                TaskSpecifications.ownedBy(userId).and(TaskSpecifications.updatedAfter(from)), BY_UPDATED_AT, 0, true);
+        List<Long> deletedIds = new ArrayList<>();
+        for (TaskTombstone tombstone : tombstoneRepository.findByUserIdAndDeletedAtAfter(userId, from)) {
+            deletedIds.add(tombstone.getTaskId());
+        }
+        return new TaskChanges(changed, deletedIds, watermark, false);
+    }
+
+    /** Drops tombstones no client can still need; returns how many were removed. */
+    public int purgeTombstones() {
+        return tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+    }
+
+    /**
+     * Keyset-paginated listing ordered by id, narrowed by any combination of {@code filter} predicates.
+     * {@code cursor} is the {@code nextCursor} of the previous page, or null for the first page.
+     */
+    public TaskPage getTasksPage(Long userId, TaskFilter filter, String cursor, Integer limit,
+                                 boolean withDescription) {
+        int pageSize = resolvePageSize(limit);
+        Specification<Task> spec = TaskSpecifications.matching(userId, filter, LocalDateTime.now());
+        if (cursor != null) {
+            spec = spec.and(TaskSpecifications.idAfter(TaskCursor.decodeById(cursor).getAfterId()));
+        }
+        Specification<Task> page = spec;
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        List<TaskView> rows = replicaReads.read(userId,
+                () -> taskRepository.findViews(page, BY_ID, pageSize + 1, withDescription));
+        return toPage(rows, pageSize, last -> TaskCursor.encodeById(last.id()));
+    }
+
+    /** Keyset-paginated overdue listing ordered by due date, then id. */
+    public TaskPage getOverdueTasksPage(Long userId, String cursor, Integer limit, boolean withDescription) {
+        int pageSize = resolvePageSize(limit);
+        Specification<Task> spec = TaskSpecifications.ownedBy(userId)
+                .and(TaskSpecifications.overdue(LocalDateTime.now()));
+        if (cursor != null) {
+            TaskCursor after = TaskCursor.decodeByDueDate(cursor);
+            spec = spec.and(TaskSpecifications.dueDateAfter(after.getAfterDueDate(), after.getAfterId()));
+        }
+        Specification<Task> page = spec;
+        List<TaskView> rows = replicaReads.read(userId,
+                () -> taskRepository.findViews(page, BY_DUE_DATE, pageSize + 1, withDescription));
+        return toPage(rows, pageSize, last -> TaskCursor.encodeByDueDate(last.dueDate(), last.id()));
+    }
+
+    private List<TaskView> filterCached(Long userId, Predicate<TaskView> predicate, boolean withDescription) {
+        List<TaskView> matches = new ArrayList<>();
+        for (TaskView task : getAllTasksByUserId(userId)) {
+            if (predicate.test(task)) {
+                matches.add(withDescription ? task : task.withoutDescription());
+            }
+        }
+        return matches;
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private static TaskPage toPage(List<TaskView> rows, int pageSize, Function<TaskView, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new TaskPage(rows, null);
+        }
+        List<TaskView> content = new ArrayList<>(rows.subList(0, pageSize));
+        return new TaskPage(content, cursorOf.apply(content.get(pageSize - 1)));
     }
 }
@@ -0,0 +1,51 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+
+/** Net change to a user's task counters from one write (or one batch), per status and priority. */
+public final class TaskStatsDelta {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final long[] deltas = new long[STATUSES.length * PRIORITIES.length];
+
+    public static TaskStatsDelta of(Status status, Priority priority, long delta) {
+        TaskStatsDelta stats = new TaskStatsDelta();
+        stats.add(status, priority, delta);
+        return stats;
+    }
+
+    public void add(Status status, Priority priority, long delta) {
+        deltas[status.ordinal() * PRIORITIES.length + priority.ordinal()] += delta;
+    }
+
+    /** A task changed from one status/priority to another; a no-op when neither changed. */
+    public void move(Status fromStatus, Priority fromPriority, Status toStatus, Priority toPriority) {
+        add(fromStatus, fromPriority, -1);
+        add(toStatus, toPriority, 1);
+    }
+
+    public boolean isEmpty() {
+        for (long delta : deltas) {
+            if (delta != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void forEachNonZero(Consumer consumer) {
+        for (int i = 0; i < deltas.length; i++) {
+            if (deltas[i] != 0) {
+                consumer.accept(STATUSES[i / PRIORITIES.length], PRIORITIES[i % PRIORITIES.length], deltas[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Consumer {
+        void accept(Status status, Priority priority, long delta);
+    }
+}
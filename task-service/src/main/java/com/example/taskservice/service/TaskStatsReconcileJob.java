@@ -0,0 +1,22 @@
+package com.example.taskservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically repairs drifted task counters. The first run comes shortly after startup, which also
+ * backfills counters for tasks that existed before {@code task_stats} did.
+ */
+@Component
+public class TaskStatsReconcileJob {
+
+    @Autowired
+    private TaskStatsService statsService;
+
+    @Scheduled(fixedDelayString = "${tasks.stats.reconcile-interval-ms:3600000}",
+               initialDelayString = "${tasks.stats.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        statsService.reconcile();
+    }
+}
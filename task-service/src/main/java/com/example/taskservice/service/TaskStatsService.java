@@ -0,0 +1,223 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskStats;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.TaskStatsCounter;
+import com.example.taskservice.repository.JobLockRepository;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskSpecifications;
+import com.example.taskservice.repository.TaskStatsRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user task counts by status and priority, kept in {@code task_stats} so that {@code /stats}
+ * reads at most nine rows instead of the user's tasks. {@link TaskService} applies a
+ * {@link TaskStatsDelta} in the same transaction as every write, as relative UPDATEs, so concurrent
+ * writers compose and a rolled-back write leaves the counters untouched.
+ *
+ * {@link #reconcile} recomputes every count with one GROUP BY and repairs drift (writes made outside
+ * this service, counters created after tasks already existed). It applies what it finds as deltas, so
+ * two instances reconciling at once would both repair the same drift; a {@link JobLockRepository lease}
+ * lets one instance at a time run it. The overdue count depends on the clock,
+ * so it is not a counter: it is one COUNT over the (user_id, is_open, due_date) index range.
+ */
+@Service
+public class TaskStatsService implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final int COUNTERS_PER_USER = STATUSES.length * PRIORITIES.length;
+    private static final String RECONCILE_LOCK = "task-stats-reconcile";
+
+    @Autowired
+    private TaskStatsRepository statsRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Reconciliation reads counts and counters in one snapshot, so the drift it computes is exact for that instant
+    private final TransactionTemplate snapshotTemplate;
+
+    // Users whose counter rows are known to exist; rows are never deleted, so entries never go stale
+    private final Cache<Long, Boolean> initializedUsers;
+
+    // How long a reconciliation may hold the lease; an instance that dies mid-run blocks others this long
+    private final Duration reconcileLease;
+
+    // Set once metrics are bound; repairs before that are simply not counted.
+    private volatile Counter repairedCounter;
+
+    public TaskStatsService(PlatformTransactionManager transactionManager,
+                            @Value("${tasks.stats.maximum-users:100000}") long maximumUsers,
+                            @Value("${tasks.stats.reconcile-lease-ms:3600000}") long reconcileLeaseMs) {
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+        this.initializedUsers = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .build();
+        this.reconcileLease = Duration.ofMillis(reconcileLeaseMs);
+    }
+
+    /**
+     * Creates any of the user's counter rows that do not exist yet, at 0. Call it before the write's
+     * transaction, so a duplicate-key race with another instance cannot roll the write back.
+     */
+    public void ensureCounters(Long userId) {
+        if (initializedUsers.getIfPresent(userId) != null) {
+            return;
+        }
+        if (statsRepository.countByUserId(userId) < COUNTERS_PER_USER) {
+            Set<TaskStatsCounter.Key> existing = new HashSet<>();
+            for (TaskStatsCounter counter : statsRepository.findByUserId(userId)) {
+                existing.add(new TaskStatsCounter.Key(userId, counter.getStatus(), counter.getPriority()));
+            }
+            for (Status status : STATUSES) {
+                for (Priority priority : PRIORITIES) {
+                    if (!existing.contains(new TaskStatsCounter.Key(userId, status, priority))) {
+                        try {
+                            statsRepository.save(new TaskStatsCounter(userId, status, priority, 0));
+                        } catch (DataIntegrityViolationException e) {
+                            // Created concurrently; that is all we wanted
+                        }
+                    }
+                }
+            }
+        }
+        initializedUsers.put(userId, true);
+    }
+
+    /** Adds {@code delta} to the user's counters. Must run inside the transaction of the write it describes. */
+    public void apply(Long userId, TaskStatsDelta delta) {
+        delta.forEachNonZero((status, priority, change) -> {
+            if (statsRepository.add(userId, status, priority, change) == 0) {
+                // Counter row missing (ensureCounters failed); reconcile will create it
+                logger.debug("No task_stats row for userId={} {}/{}", userId, status, priority);
+            }
+        });
+    }
+
+    public TaskStats getStats(Long userId) {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        for (Status status : STATUSES) {
+            byStatus.put(status, 0L);
+        }
+        for (Priority priority : PRIORITIES) {
+            byPriority.put(priority, 0L);
+        }
+        long total = 0;
+        for (TaskStatsCounter counter : statsRepository.findByUserId(userId)) {
+            byStatus.merge(counter.getStatus(), counter.getTaskCount(), Long::sum);
+            byPriority.merge(counter.getPriority(), counter.getTaskCount(), Long::sum);
+            total += counter.getTaskCount();
+        }
+        long overdue = taskRepository.count(TaskSpecifications.ownedBy(userId)
+                .and(TaskSpecifications.overdue(LocalDateTime.now())));
+        return new TaskStats(total, byStatus, byPriority, overdue);
+    }
+
+    /**
+     * Compares every counter with a GROUP BY count of {@code tasks} taken in the same snapshot, and adds
+     * the difference to each counter that drifted. Applying the difference as a delta, rather than
+     * overwriting the count, keeps writes committed after the snapshot. Returns the number of counters
+     * repaired, or 0 without looking when another instance is reconciling.
+     */
+    public int reconcile() {
+        // Whole seconds, so the lease written back compares equal whatever the column's precision
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime until = now.plus(reconcileLease);
+        if (!acquireLease(now, until)) {
+            logger.debug("Task counter reconciliation is running on another instance");
+            return 0;
+        }
+        try {
+            return repairDrift();
+        } finally {
+            jobLockRepository.release(RECONCILE_LOCK, until, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        }
+    }
+
+    private boolean acquireLease(LocalDateTime now, LocalDateTime until) {
+        if (jobLockRepository.acquire(RECONCILE_LOCK, now, until) == 1) {
+            return true;
+        }
+        try {
+            return jobLockRepository.create(RECONCILE_LOCK, until) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // The row exists and its lease has not expired
+            return false;
+        }
+    }
+
+    private int repairDrift() {
+        Map<TaskStatsCounter.Key, Long> drift = snapshotTemplate.execute(status -> {
+            Map<TaskStatsCounter.Key, Long> differences = new HashMap<>();
+            for (Object[] row : statsRepository.countAllTasks()) {
+                differences.merge(new TaskStatsCounter.Key((Long) row[0], (Status) row[1], (Priority) row[2]),
+                        (Long) row[3], Long::sum);
+            }
+            for (TaskStatsCounter counter : statsRepository.findAll()) {
+                differences.merge(new TaskStatsCounter.Key(counter.getUserId(), counter.getStatus(),
+                        counter.getPriority()), -counter.getTaskCount(), Long::sum);
+            }
+            differences.values().removeIf(difference -> difference == 0);
+            return differences;
+        });
+        if (drift == null || drift.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, TaskStatsDelta> byUser = new HashMap<>();
+        drift.forEach((key, difference) -> byUser.computeIfAbsent(key.getUserId(), userId -> new TaskStatsDelta())
+                .add(key.getStatus(), key.getPriority(), difference));
+        byUser.forEach((userId, delta) -> {
+            ensureCounters(userId);
+            transactionTemplate.executeWithoutResult(status -> apply(userId, delta));
+        });
+        logger.warn("Repaired {} drifted task counters across {} users", drift.size(), byUser.size());
+        Counter counter = repairedCounter;
+        if (counter != null) {
+            counter.increment(drift.size());
+        }
+        return drift.size();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        repairedCounter = Counter.builder("tasks.stats.repaired")
+                .description("Task counters found drifted and repaired by reconciliation")
+                .register(registry);
+    }
+}
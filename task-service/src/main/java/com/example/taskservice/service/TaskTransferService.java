@@ -0,0 +1,259 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskBatchRequest;
+import com.example.taskservice.dto.TaskBatchResult;
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.dto.TaskImportResult;
+import com.example.taskservice.dto.TaskView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk export and import of one user's tasks as NDJSON (one JSON object per line) or CSV with a
+ * header row, both UTF-8. Neither direction holds more than one import batch in memory.
+ *
+ * Export writes every column of {@link TaskView}, descriptions included, from
+ * {@link TaskService#forEachTask}. Import reads the {@link CreateTaskRequest} fields (title,
+ * description, priority, status, dueDate) and ignores any other column, so an export imports back
+ * as new tasks. Rows are validated and inserted {@code tasks.import.batch-size} at a time through
+ * {@link TaskService#applyBatch}, one transaction per batch; an invalid row is reported and skipped.
+ */
+@Service
+public class TaskTransferService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    // Export column order; import matches columns by header name instead
+    private static final CsvSchema CSV_COLUMNS = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("title")
+            .addColumn("description")
+            .addColumn("priority")
+            .addColumn("status")
+            .addColumn("dueDate")
+            .addColumn("userId")
+            .addColumn("createdAt")
+            .addColumn("updatedAt")
+            .build()
+            .withHeader();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${tasks.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${tasks.import.max-errors:1000}")
+    private int maxErrors;
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .build();
+
+    private ObjectWriter jsonRowWriter;
+    private ObjectReader jsonRowReader;
+
+    @PostConstruct
+    void init() {
+        // One value per line: no flush per row (a chunk each) and no separator, the newline is written explicitly
+        jsonRowWriter = objectMapper.writerFor(TaskView.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        jsonRowReader = objectMapper.readerFor(CreateTaskRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /** Writes {@code userId}'s tasks matching {@code filter}, ordered by id, to {@code out}. */
+    public void export(Long userId, TaskFilter filter, Format format, OutputStream out) throws IOException {
+        try {
+            if (format == Format.CSV) {
+                try (SequenceWriter csv = csvMapper.writerFor(TaskView.class).with(CSV_COLUMNS).writeValues(out)) {
+                    taskService.forEachTask(userId, filter, true, task -> {
+                        try {
+                            csv.write(task);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            } else {
+                try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                    json.setRootValueSeparator(null);
+                    taskService.forEachTask(userId, filter, true, task -> {
+                        try {
+                            jsonRowWriter.writeValue(json, task);
+                            json.writeRaw('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Imports every row of {@code in} as a new task of {@code userId}. Input that cannot be read any
+     * further (malformed CSV quoting, a corrupt gzip stream, a dropped connection) stops the import like
+     * a failed batch does.
+     */
+    public TaskImportResult importTasks(Long userId, Format format, InputStream in) {
+        Batcher batcher = new Batcher(userId);
+        try {
+            read(format, in, batcher);
+        } catch (IOException e) {
+            batcher.abort("Unreadable input after row " + batcher.rows + ": " + e.getMessage());
+        }
+        return batcher.finish();
+    }
+
+    private void read(Format format, InputStream in, Batcher batcher) throws IOException {
+        if (format == Format.CSV) {
+            CsvSchema header = CsvSchema.emptySchema().withHeader();
+            // Rows as plain maps, so a bad value fails only its own row instead of the parser
+            try (MappingIterator<Map<String, String>> rows = csvMapper.readerForMapOf(String.class)
+                    .with(header)
+                    .readValues(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                while (!batcher.stopped() && rows.hasNextValue()) {
+                    Map<String, String> row = rows.nextValue();
+                    // An empty cell means "not given", as a missing key does in NDJSON
+                    row.values().removeIf(String::isEmpty);
+                    JsonNode fields = objectMapper.valueToTree(row);
+                    try {
+                        batcher.add(jsonRowReader.readValue(fields));
+                    } catch (JsonProcessingException e) {
+                        batcher.reject(e.getOriginalMessage());
+                    }
+                }
+            }
+        } else {
+            BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while (!batcher.stopped() && (line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batcher.add(jsonRowReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    batcher.reject(e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    /** Collects rows into batches for {@link TaskService#applyBatch} and tallies the outcome per row. */
+    private final class Batcher {
+
+        private final Long userId;
+        private final List<TaskBatchRequest.Operation> pending = new ArrayList<>(batchSize);
+        private final List<Long> pendingRows = new ArrayList<>(batchSize);
+        private final List<TaskImportResult.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+        private String stoppedBy;
+
+        Batcher(Long userId) {
+            this.userId = userId;
+        }
+
+        void add(CreateTaskRequest task) {
+            rows++;
+            pending.add(new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.CREATE, null, task));
+            pendingRows.add(rows);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(String error) {
+            rows++;
+            fail(rows, error);
+        }
+
+        boolean stopped() {
+            return stoppedBy != null;
+        }
+
+        /** Stops the import; rows not yet sent to the database are dropped. */
+        void abort(String reason) {
+            if (!pending.isEmpty()) {
+                reason += "; rows from " + pendingRows.get(0) + " on were not imported";
+            }
+            stoppedBy = reason;
+            pending.clear();
+            pendingRows.clear();
+        }
+
+        TaskImportResult finish() {
+            if (!stopped()) {
+                flush();
+            }
+            return new TaskImportResult(rows, imported, failed, errors, failed > errors.size(), stoppedBy);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                for (TaskBatchResult result : taskService.applyBatch(userId, pending)) {
+                    if (result.getStatus() == 201) {
+                        imported++;
+                    } else {
+                        fail(pendingRows.get(result.getIndex()), result.getError());
+                    }
+                }
+            } catch (RuntimeException e) {
+                // applyBatch rolled this batch back; later rows are left unread
+                abort("Batch failed: " + e.getMessage());
+                return;
+            }
+            pending.clear();
+            pendingRows.clear();
+        }
+
+        private void fail(long row, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new TaskImportResult.RowError(row, error));
+            }
+        }
+    }
+}
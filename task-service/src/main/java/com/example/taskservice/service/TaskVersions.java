@@ -0,0 +1,72 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.repository.TaskVersionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Per-user change version for task collections, used as the ETag of listing responses.
+ *
+ * The version is the user's {@code task_versions} row, which every write increments in its own
+ * transaction (task-service-reactive's writes included), so every instance reads the same value and
+ * none answers 304 for a collection another instance has changed. Reading it is one primary-key
+ * lookup. Readers must take the version before loading the data it describes.
+ *
+ * Each instance also remembers the version it last saw per user. When the database holds a different
+ * one, something this instance did not see in its cache has changed, and the callback of
+ * {@link #current(Long, Consumer)} drops the cached data.
+ */
+@Component
+public class TaskVersions {
+
+    @Autowired
+    private TaskVersionRepository versionRepository;
+
+    // Last version seen per user; a user missing here (evicted, or new) counts as changed
+    private final Cache<Long, Long> seen;
+
+    public TaskVersions(@Value("${tasks.versions.maximum-users:100000}") long maximumUsers) {
+        this.seen = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .build();
+    }
+
+    /** Opaque version of {@code userId}'s task collection, e.g. {@code "42"}. */
+    public String current(Long userId) {
+        return current(userId, key -> { });
+    }
+
+    /**
+     * Like {@link #current(Long)}, calling {@code onNewVersion} first when the version differs from the
+     * one this instance saw last, so data cached under the old version is not served under the new one.
+     */
+    public String current(Long userId, Consumer<Long> onNewVersion) {
+        long version = versionRepository.findVersion(userId).orElse(0L);
+        Long previous = seen.asMap().put(userId, version);
+        if (previous == null || previous != version) {
+            onNewVersion.accept(userId);
+        }
+        return Long.toString(version);
+    }
+
+    /** Increments the user's version; call it inside the write's transaction. Returns the new version. */
+    public long increment(Long userId) {
+        versionRepository.increment(userId);
+        return versionRepository.findVersion(userId).orElseThrow();
+    }
+
+    /**
+     * Records that the write which produced {@code version} is already reflected in this instance's
+     * cache. Only when it directly follows the version seen last: any other version means a write
+     * elsewhere came in between, and the next {@link #current(Long, Consumer)} drops the cached data.
+     * Call it after the committed write has been applied to the cache.
+     */
+    public void applied(Long userId, long version) {
+        seen.asMap().replace(userId, version - 1, version);
+    }
+}
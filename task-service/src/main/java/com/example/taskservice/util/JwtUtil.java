@@ -1,12 +1,13 @@
 package com.example.taskservice.util;
 
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import com.example.taskservice.security.JwtPrincipal;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.util.Date;
+import java.time.Instant;
 
 @Component
 public class JwtUtil {
@@ -16,49 +17,47 @@ public class JwtUtil {
     
     @Value("${jwt.expiration:86400000}")
     private int expiration;
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    // Keyed with the secret once; its pooled Macs are shared by all request threads.
+    private Hs256JwtCodec codec;
+
+    @PostConstruct
+    void init() {
+        this.codec = new Hs256JwtCodec(secret.getBytes());
     }
     
     public String generateToken(String username) {
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+        long now = System.currentTimeMillis();
+        return codec.sign(username, null, now / 1000, (now + expiration) / 1000);
+    }
+
+    /**
+     * Verifies the token once and returns everything the request needs from it. Repeat calls with the
+     * same token are served from {@link VerifiedTokenCache} until the token expires.
+     *
+     * @throws JwtException if the signature is invalid or the token has expired
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public JwtPrincipal parseToken(String token) {
+        return tokenCache.verify(token, this::verifyToken);
+    }
+
+    private JwtPrincipal verifyToken(String token) {
+        Hs256JwtCodec.DecodedToken decoded = codec.verify(token);
+        return new JwtPrincipal(resolveUserId(decoded), decoded.getSubject(), decoded.getExpiresAt());
     }
     
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return codec.verify(token).getSubject();
     }
 
     // Extract numeric userId claim if present; otherwise return null.
     public Long getUserIdFromToken(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            Object idObj = claims.get("userId");
-            if (idObj instanceof Number) {
-                return ((Number) idObj).longValue();
-            }
-            if (idObj instanceof String) {
-                try {
-                    return Long.parseLong((String) idObj);
-                } catch (NumberFormatException e) {
-                    return null;
-                }
-            }
-            return null;
+            return codec.verify(token).getUserId();
         } catch (Exception e) {
             return null;
         }
@@ -66,10 +65,7 @@ public class JwtUtil {
     
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            codec.verify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -78,14 +74,26 @@ public class JwtUtil {
     
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getExpiration().before(new Date());
+            Instant expiresAt = codec.verify(token).getExpiresAt();
+            return expiresAt != null && expiresAt.isBefore(Instant.now());
         } catch (JwtException | IllegalArgumentException e) {
             return true;
         }
     }
+
+    // Prefer the numeric userId claim (added by user-service); fall back to a numeric subject (legacy tokens).
+    private static Long resolveUserId(Hs256JwtCodec.DecodedToken decoded) {
+        if (decoded.getUserId() != null) {
+            return decoded.getUserId();
+        }
+        String subject = decoded.getSubject();
+        if (subject == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(subject);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package com.example.taskservice.util;
+
+import com.example.taskservice.security.JwtPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Remembers the outcome of verifying a bearer token so that the same token, sent on every request
+ * until it expires, is only Base64-decoded, HMAC-checked and parsed once.
+ *
+ * Entries are keyed by the SHA-256 digest of the token, never the token itself. Verified entries
+ * expire at the token's {@code exp} claim and are softly referenced so the GC can reclaim them under
+ * memory pressure. Rejected tokens are remembered for a short time so replays fail cheaply.
+ * Hit/miss/eviction counters are published as {@code cache.*} metrics tagged
+ * {@code cache=jwt.verified} and {@code cache=jwt.rejected}.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final long maxTtlNanos;
+    private final Cache<TokenDigest, JwtPrincipal> verified;
+    private final Cache<TokenDigest, String> rejected;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${jwt.cache.max-ttl-seconds:3600}") long maxTtlSeconds,
+                              @Value("${jwt.cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.enabled = enabled;
+        this.maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .softValues()
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        this.rejected = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached principal for {@code token}, or runs {@code verifier} and caches its outcome.
+     * A token the verifier rejected is rejected again without re-verification until the negative entry
+     * expires.
+     */
+    public JwtPrincipal verify(String token, Function<String, JwtPrincipal> verifier) {
+        if (!enabled || token == null || token.isEmpty()) {
+            return verifier.apply(token);
+        }
+        TokenDigest key = TokenDigest.of(token);
+
+        String rejection = rejected.getIfPresent(key);
+        if (rejection != null) {
+            throw new JwtException("Previously rejected token: " + rejection);
+        }
+        JwtPrincipal principal = verified.getIfPresent(key);
+        if (principal != null) {
+            return principal;
+        }
+
+        try {
+            principal = verifier.apply(token);
+        } catch (JwtException e) {
+            rejected.put(key, String.valueOf(e.getMessage()));
+            throw e;
+        }
+        verified.put(key, principal);
+        return principal;
+    }
+
+    public void invalidateAll() {
+        verified.invalidateAll();
+        rejected.invalidateAll();
+    }
+
+    public CacheStats verifiedStats() {
+        return verified.stats();
+    }
+
+    public CacheStats rejectedStats() {
+        return rejected.stats();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verified, "jwt.verified");
+        CaffeineCacheMetrics.monitor(registry, rejected, "jwt.rejected");
+    }
+
+    private final class UntilTokenExpiry implements Expiry<TokenDigest, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, JwtPrincipal value, long currentTime) {
+            Instant expiresAt = value.getExpiresAt();
+            if (expiresAt == null) {
+                return maxTtlNanos;
+            }
+            long remainingMillis = expiresAt.toEpochMilli() - System.currentTimeMillis();
+            return Math.max(0, Math.min(TimeUnit.MILLISECONDS.toNanos(remainingMillis), maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    // 256-bit digest held as four longs: cheap equals/hashCode and no array per entry.
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            // A new digest per call: cheap next to hashing the token, and nothing pinned to (virtual) threads
+            MessageDigest sha256;
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+            byte[] digest = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+}
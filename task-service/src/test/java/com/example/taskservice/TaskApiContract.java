@@ -0,0 +1,341 @@
+package com.example.taskservice;
+
+import com.example.taskservice.dto.TaskCursor;
+import com.example.taskservice.util.Hs256JwtCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The {@code /api/tasks} contract, asserted over real HTTP so that every deployment of the task API
+ * (task-service on Spring MVC, task-service-reactive on WebFlux) is held to the same behavior.
+ * Subclasses only start their application on a random port.
+ */
+public abstract class TaskApiContract {
+
+    // Each test works as a fresh user, so tests never see each other's tasks
+    private static final AtomicLong USER_IDS = new AtomicLong(1_000);
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper json = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    private long userId;
+
+    @BeforeEach
+    void newUser() {
+        userId = USER_IDS.incrementAndGet();
+    }
+
+    @Test
+    void createsAndReadsBackATask() throws Exception {
+        HttpResponse<String> created = send("POST", "/api/tasks", token(userId),
+                task("Write report", "Quarterly numbers", "HIGH", "TODO"));
+        assertThat(created.statusCode()).isEqualTo(201);
+        JsonNode body = json.readTree(created.body());
+        assertThat(body.get("title").asText()).isEqualTo("Write report");
+        assertThat(body.get("userId").asLong()).isEqualTo(userId);
+
+        HttpResponse<String> fetched = send("GET", "/api/tasks/" + body.get("id").asLong(), token(userId), null);
+        assertThat(fetched.statusCode()).isEqualTo(200);
+        assertThat(json.readTree(fetched.body()).get("description").asText()).isEqualTo("Quarterly numbers");
+        assertThat(fetched.headers().firstValue("ETag")).isPresent();
+    }
+
+    @Test
+    void listingsLeaveOutDescriptionsUnlessAsked() throws Exception {
+        create("First", "TODO");
+
+        JsonNode lean = json.readTree(send("GET", "/api/tasks", token(userId), null).body());
+        assertThat(lean).hasSize(1);
+        assertThat(lean.get(0).has("description")).isFalse();
+
+        JsonNode full = json.readTree(send("GET", "/api/tasks?fields=description", token(userId), null).body());
+        assertThat(full.get(0).get("description").asText()).isEqualTo("details");
+    }
+
+    @Test
+    void filtersByStatus() throws Exception {
+        create("Open", "TODO");
+        create("Finished", "DONE");
+
+        JsonNode byParam = json.readTree(send("GET", "/api/tasks?status=DONE", token(userId), null).body());
+        assertThat(byParam).hasSize(1);
+        assertThat(byParam.get(0).get("title").asText()).isEqualTo("Finished");
+
+        JsonNode byPath = json.readTree(send("GET", "/api/tasks/status/TODO", token(userId), null).body());
+        assertThat(byPath).hasSize(1);
+        assertThat(byPath.get(0).get("title").asText()).isEqualTo("Open");
+    }
+
+    @Test
+    void pagesWithACursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            create("Task " + i, "TODO");
+        }
+
+        JsonNode first = json.readTree(send("GET", "/api/tasks?limit=2", token(userId), null).body());
+        assertThat(first.get("content")).hasSize(2);
+        String cursor = first.get("nextCursor").asText();
+
+        JsonNode second = json.readTree(send("GET", "/api/tasks?limit=2&cursor=" + cursor, token(userId), null).body());
+        assertThat(second.get("content")).hasSize(1);
+        assertThat(second.get("content").get(0).get("title").asText()).isEqualTo("Task 2");
+        assertThat(second.get("nextCursor").isNull()).isTrue();
+
+        assertThat(send("GET", "/api/tasks?cursor=garbage", token(userId), null).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void answersNotModifiedForAnUnchangedListing() throws Exception {
+        create("Cached", "TODO");
+        HttpResponse<String> first = send("GET", "/api/tasks", token(userId), null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpRequest conditional = request("GET", "/api/tasks", token(userId), null)
+                .header("If-None-Match", etag)
+                .build();
+        assertThat(http.send(conditional, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(304);
+    }
+
+    @Test
+    void tagsEachEncodingSeparately() throws Exception {
+        long id = create("Encoded", "TODO");
+        for (String path : new String[] {"/api/tasks", "/api/tasks/" + id}) {
+            HttpResponse<String> first = send("GET", path, token(userId), null);
+            String etag = first.headers().firstValue("ETag").orElseThrow();
+            assertThat(first.headers().allValues("Vary")).anySatisfy(vary -> assertThat(vary).contains("Accept"));
+
+            // The JSON tag must not vouch for the CBOR body a cache may not hold
+            HttpRequest asCbor = request("GET", path, token(userId), null)
+                    .header("Accept", "application/cbor")
+                    .header("If-None-Match", etag)
+                    .build();
+            HttpResponse<byte[]> cbor = http.send(asCbor, HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(cbor.statusCode()).isEqualTo(200);
+            assertThat(cbor.headers().firstValue("Content-Type").orElseThrow()).startsWith("application/cbor");
+            String cborETag = cbor.headers().firstValue("ETag").orElseThrow();
+            assertThat(cborETag).isNotEqualTo(etag);
+
+            HttpRequest cborAgain = request("GET", path, token(userId), null)
+                    .header("Accept", "application/cbor")
+                    .header("If-None-Match", cborETag)
+                    .build();
+            HttpResponse<byte[]> notModified = http.send(cborAgain, HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(notModified.statusCode()).isEqualTo(304);
+            assertThat(notModified.headers().allValues("Vary")).anySatisfy(vary -> assertThat(vary).contains("Accept"));
+        }
+    }
+
+    @Test
+    void updatesAndDeletesOwnTasks() throws Exception {
+        long id = create("Draft", "TODO");
+        String watermark = json.readTree(send("GET", "/api/tasks/changes", token(userId), null).body())
+                .get("watermark").asText();
+
+        HttpResponse<String> updated = send("PUT", "/api/tasks/" + id, token(userId),
+                task("Final", "details", "LOW", "DONE"));
+        assertThat(updated.statusCode()).isEqualTo(200);
+        assertThat(json.readTree(updated.body()).get("status").asText()).isEqualTo("DONE");
+
+        assertThat(send("DELETE", "/api/tasks/" + id, token(userId), null).statusCode()).isEqualTo(200);
+        assertThat(send("GET", "/api/tasks/" + id, token(userId), null).statusCode()).isEqualTo(404);
+
+        JsonNode changes = json.readTree(send("GET", "/api/tasks/changes?since=" + watermark, token(userId), null).body());
+        assertThat(changes.get("fullResync").asBoolean()).isFalse();
+        assertThat(changes.get("deletedIds").get(0).asLong()).isEqualTo(id);
+    }
+
+    @Test
+    void reportsChangesSinceAWatermark() throws Exception {
+        create("Untouched", "TODO");
+        long edited = create("Draft", "TODO");
+        long removed = create("Obsolete", "TODO");
+
+        JsonNode initial = changes(null);
+        assertThat(initial.get("fullResync").asBoolean()).isTrue();
+        assertThat(titles(initial)).containsExactlyInAnyOrder("Untouched", "Draft", "Obsolete");
+        assertThat(initial.get("deletedIds")).isEmpty();
+
+        send("PUT", "/api/tasks/" + edited, token(userId), task("Final", "details", "LOW", "DONE"));
+        send("DELETE", "/api/tasks/" + removed, token(userId), null);
+        long added = create("Added", "TODO");
+
+        // Tasks written within the grace period before a watermark may be reported again, so only
+        // what must be there, and what must not, is asserted
+        JsonNode delta = changes(initial.get("watermark").asText());
+        assertThat(delta.get("fullResync").asBoolean()).isFalse();
+        assertThat(titles(delta)).contains("Final", "Added").doesNotContain("Draft", "Obsolete");
+        assertThat(delta.get("deletedIds")).extracting(JsonNode::asLong).containsExactly(removed);
+
+        send("PUT", "/api/tasks/" + added, token(userId), task("Added", "details", "HIGH", "IN_PROGRESS"));
+        JsonNode next = changes(delta.get("watermark").asText());
+        assertThat(next.get("fullResync").asBoolean()).isFalse();
+        assertThat(next.get("tasks")).anySatisfy(task -> {
+            assertThat(task.get("id").asLong()).isEqualTo(added);
+            assertThat(task.get("status").asText()).isEqualTo("IN_PROGRESS");
+        });
+    }
+
+    @Test
+    void resyncsFullyFromAWatermarkOlderThanTheTombstones() throws Exception {
+        create("Kept", "TODO");
+        long removed = create("Removed", "TODO");
+        send("DELETE", "/api/tasks/" + removed, token(userId), null);
+
+        JsonNode stale = changes(TaskCursor.encodeWatermark(LocalDateTime.now().minusYears(1)));
+        assertThat(stale.get("fullResync").asBoolean()).isTrue();
+        assertThat(titles(stale)).containsExactly("Kept");
+        assertThat(stale.get("deletedIds")).isEmpty();
+        assertThat(stale.get("watermark").asText()).isNotBlank();
+    }
+
+    @Test
+    void hidesOtherUsersTasks() throws Exception {
+        long id = create("Private", "TODO");
+        String stranger = token(userId + 1_000_000);
+
+        assertThat(send("GET", "/api/tasks/" + id, stranger, null).statusCode()).isEqualTo(404);
+        assertThat(send("PUT", "/api/tasks/" + id, stranger, task("Hijacked", null, "LOW", "DONE")).statusCode())
+                .isEqualTo(404);
+        assertThat(send("DELETE", "/api/tasks/" + id, stranger, null).statusCode()).isEqualTo(404);
+        assertThat(json.readTree(send("GET", "/api/tasks", stranger, null).body())).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidTasks() throws Exception {
+        HttpResponse<String> response = send("POST", "/api/tasks", token(userId), task(" ", null, "LOW", "TODO"));
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(json.readTree(response.body()).get("error").asText()).isEqualTo("Title is required");
+    }
+
+    @Test
+    void negotiatesCborAndKeepsJsonAsTheDefault() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        byte[] body = cbor.writeValueAsBytes(json.readTree(task("Binary", "details", "HIGH", "TODO")));
+        HttpRequest create = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .header("Content-Type", "application/cbor")
+                .header("Accept", "application/cbor")
+                .header("Authorization", "Bearer " + token(userId))
+                .build();
+        HttpResponse<byte[]> created = http.send(create, HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(created.statusCode()).isEqualTo(201);
+        assertThat(created.headers().firstValue("Content-Type").orElseThrow()).startsWith("application/cbor");
+        JsonNode task = cbor.readTree(created.body());
+        assertThat(task.get("title").asText()).isEqualTo("Binary");
+        assertThat(task.get("priority").asText()).isEqualTo("HIGH");
+
+        HttpResponse<String> listing = send("GET", "/api/tasks", token(userId), null);
+        assertThat(listing.headers().firstValue("Content-Type").orElseThrow()).startsWith("application/json");
+        assertThat(json.readTree(listing.body()).get(0).get("title").asText()).isEqualTo("Binary");
+    }
+
+    @Test
+    void streamsTheSameBodyAsThePlainListing() throws Exception {
+        create("First", "TODO");
+        create("Second", "DONE");
+        create("Third", "TODO");
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+        for (String query : new String[] {"", "fields=description", "status=TODO&fields=description"}) {
+            String plainPath = query.isEmpty() ? "/api/tasks" : "/api/tasks?" + query;
+            String streamPath = "/api/tasks?stream=true" + (query.isEmpty() ? "" : "&" + query);
+
+            HttpResponse<String> plain = send("GET", plainPath, token(userId), null);
+            assertThat(json.readTree(plain.body())).isNotEmpty();
+            HttpResponse<String> streamed = send("GET", streamPath, token(userId), null);
+            assertThat(streamed.statusCode()).isEqualTo(200);
+            assertThat(streamed.headers().firstValue("Content-Type").orElseThrow()).startsWith("application/json");
+            assertThat(json.readTree(streamed.body())).as(streamPath).isEqualTo(json.readTree(plain.body()));
+
+            HttpResponse<byte[]> plainCbor = http.send(request("GET", plainPath, token(userId), null)
+                    .header("Accept", "application/cbor").build(), HttpResponse.BodyHandlers.ofByteArray());
+            HttpResponse<byte[]> streamedCbor = http.send(request("GET", streamPath, token(userId), null)
+                    .header("Accept", "application/cbor").build(), HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(streamedCbor.statusCode()).isEqualTo(200);
+            assertThat(streamedCbor.headers().firstValue("Content-Type").orElseThrow()).startsWith("application/cbor");
+            assertThat(cbor.readTree(streamedCbor.body())).as(streamPath + " as CBOR")
+                    .isEqualTo(cbor.readTree(plainCbor.body()));
+        }
+    }
+
+    @Test
+    void rejectsRequestsWithoutAValidToken() throws Exception {
+        assertThat(send("GET", "/api/tasks", null, null).statusCode()).isEqualTo(403);
+        assertThat(send("GET", "/api/tasks", "not-a-jwt", null).statusCode()).isEqualTo(403);
+    }
+
+    private long create(String title, String status) throws Exception {
+        HttpResponse<String> response = send("POST", "/api/tasks", token(userId), task(title, "details", "MEDIUM", status));
+        assertThat(response.statusCode()).isEqualTo(201);
+        return json.readTree(response.body()).get("id").asLong();
+    }
+
+    private JsonNode changes(String since) throws Exception {
+        HttpResponse<String> response = send("GET",
+                since == null ? "/api/tasks/changes" : "/api/tasks/changes?since=" + since, token(userId), null);
+        assertThat(response.statusCode()).isEqualTo(200);
+        return json.readTree(response.body());
+    }
+
+    private static List<String> titles(JsonNode changes) {
+        List<String> titles = new ArrayList<>();
+        changes.get("tasks").forEach(task -> titles.add(task.get("title").asText()));
+        return titles;
+    }
+
+    private String task(String title, String description, String priority, String status) throws Exception {
+        var node = json.createObjectNode()
+                .put("title", title)
+                .put("priority", priority)
+                .put("status", status);
+        if (description != null) {
+            node.put("description", description);
+        }
+        return json.writeValueAsString(node);
+    }
+
+    private String token(long userId) {
+        long now = Instant.now().getEpochSecond();
+        return new Hs256JwtCodec(secret.getBytes()).sign("contract-user-" + userId, userId, now, now + 3600);
+    }
+
+    private HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        return http.send(request(method, path, token, body).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String method, String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
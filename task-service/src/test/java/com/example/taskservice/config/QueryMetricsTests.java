@@ -0,0 +1,51 @@
+package com.example.taskservice.config;
+
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-metrics;MODE=MySQL;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "db.slow-query-ms=0"
+})
+@ExtendWith(OutputCaptureExtension.class)
+class QueryMetricsTests {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void statementsAreTimedPerRepositoryMethod() {
+        taskRepository.findOverdueTasksByUserId(1L, LocalDateTime.now());
+
+        assertThat(meterRegistry.get("db.query")
+                .tag("method", "TaskRepository.findOverdueTasksByUserId")
+                .tag("type", "select")
+                .tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowQueryLogRedactsParameters(CapturedOutput output) {
+        taskRepository.findAll(TaskSpecifications.ownedBy(1L).and(TaskSpecifications.textContains("needle-1234")));
+
+        assertThat(output).contains("Slow query").contains("from TaskRepository.findAll");
+        assertThat(output).doesNotContain("needle-1234");
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays every SELECT the repository issues under H2's EXPLAIN and fails if any of them plans a
+ * full table scan, so a new query (or a dropped index) cannot silently regress to scanning all users' rows.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class TaskQueryPlanTests {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TaskStatsRepository statsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void seed() {
+        for (long userId = 1; userId <= 3; userId++) {
+            for (Status status : Status.values()) {
+                entityManager.persist(new Task("Task", "details", Priority.MEDIUM, status, now.minusDays(1), userId));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapturingListener.SELECTS.clear();
+    }
+
+    @Test
+    void repositoryQueriesUseAnIndex() throws Exception {
+        Task any = taskRepository.findByUserId(USER_ID).get(0);
+        entityManager.clear();
+        taskRepository.findById(any.getId());
+        taskRepository.findByIdAndUserId(any.getId(), USER_ID);
+        taskRepository.findByUserIdAndStatus(USER_ID, Status.TODO);
+        taskRepository.findByUserIdAndPriority(USER_ID, Priority.HIGH);
+        taskRepository.findOverdueTasksByUserId(USER_ID, now);
+        taskRepository.findTasksByUserIdAndDateRange(USER_ID, now.minusDays(7), now);
+
+        TaskFilter filter = new TaskFilter();
+        filter.setOverdue(true);
+        taskRepository.findAll(TaskSpecifications.matching(USER_ID, filter, now));
+        taskRepository.findLimited(TaskSpecifications.ownedBy(USER_ID)
+                .and(TaskSpecifications.idAfter(any.getId())), Sort.by("id"), 10);
+        taskRepository.findLimited(TaskSpecifications.ownedBy(USER_ID)
+                .and(TaskSpecifications.overdue(now))
+                .and(TaskSpecifications.dueDateAfter(now.minusDays(2), 0L)), Sort.by("dueDate", "id"), 10);
+        taskRepository.findAll(TaskSpecifications.ownedBy(USER_ID)
+                .and(TaskSpecifications.updatedAfter(now.minusHours(1))), Sort.by("updatedAt", "id"));
+        tombstoneRepository.findByUserIdAndDeletedAtAfter(USER_ID, now.minusHours(1));
+        taskRepository.findViews(TaskSpecifications.ownedBy(USER_ID), Sort.by("id"), 0, false);
+        taskRepository.findAll(TaskSpecifications.ownedBy(USER_ID)
+                .and(TaskSpecifications.idIn(List.of(any.getId(), any.getId() + 1))));
+        statsRepository.findByUserId(USER_ID);
+        statsRepository.countByUserId(USER_ID);
+        taskRepository.count(TaskSpecifications.ownedBy(USER_ID).and(TaskSpecifications.overdue(now)));
+
+        List<CapturedSelect> selects = new ArrayList<>(CapturingListener.SELECTS);
+        assertThat(selects).hasSizeGreaterThanOrEqualTo(17);
+        try (Connection connection = dataSource.getConnection()) {
+            for (CapturedSelect select : selects) {
+                assertThat(explain(connection, select))
+                        .as("plan for %s", select.sql())
+                        .doesNotContainIgnoringCase("tableScan");
+            }
+        }
+    }
+
+    private static String explain(Connection connection, CapturedSelect select) throws Exception {
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + select.sql())) {
+            for (ParameterSetOperation op : select.parameters()) {
+                op.getMethod().invoke(ps, op.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private record CapturedSelect(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    static class CapturingListener implements QueryExecutionListener {
+
+        static final List<CapturedSelect> SELECTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                if (!queryInfo.getQuery().trim().toLowerCase().startsWith("select")) {
+                    continue;
+                }
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                        ? List.of() : queryInfo.getParametersList().get(0);
+                SELECTS.add(new CapturedSelect(queryInfo.getQuery(), new ArrayList<>(parameters)));
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+    }
+
+    @TestConfiguration
+    static class ProxyConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource).listener(new CapturingListener()).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.taskservice.repository;
+
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TaskSpecificationsTests {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<Task> seeded = new ArrayList<>();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void seed() {
+        int i = 0;
+        for (long userId : new long[] {USER_ID, OTHER_USER_ID}) {
+            for (Status status : Status.values()) {
+                for (Priority priority : Priority.values()) {
+                    for (int dueOffset : new int[] {-3, 2}) {
+                        String title = (i % 4 == 0 ? "Write Report " : "Task ") + i++;
+                        Task task = new Task(title, "details", priority, status, now.plusDays(dueOffset), userId);
+                        seeded.add(entityManager.persist(task));
+                    }
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void combinedFiltersRunAsOneSelectWithoutPostFiltering() {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(Status.IN_PROGRESS);
+        filter.setPriority(Priority.HIGH);
+
+        assertSingleSelectMatches(filter, t -> t.getStatus() == Status.IN_PROGRESS && t.getPriority() == Priority.HIGH);
+    }
+
+    @Test
+    void overdueDateRangeAndTextCompose() {
+        TaskFilter filter = new TaskFilter();
+        filter.setOverdue(true);
+        filter.setDueFrom(now.minusDays(7));
+        filter.setDueTo(now);
+        filter.setQ("report");
+
+        assertSingleSelectMatches(filter, t -> t.getStatus() != Status.DONE
+                && t.getDueDate().isBefore(now)
+                && t.getTitle().toLowerCase().contains("report"));
+    }
+
+    private void assertSingleSelectMatches(TaskFilter filter, Predicate<Task> expected) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Task> result = taskRepository.findAll(TaskSpecifications.matching(USER_ID, filter, now), Sort.by("id"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        List<Long> expectedIds = seeded.stream()
+                .filter(t -> t.getUserId() == USER_ID)
+                .filter(expected)
+                .map(Task::getId)
+                .toList();
+        assertThat(expectedIds).isNotEmpty();
+        assertThat(result).extracting(Task::getId).containsExactlyElementsOf(expectedIds);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskFilter;
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two unrelated in-memory databases stand in for the primary and its replica. Nothing replicates
+ * between them, so which rows a read returns shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "tasks.datasource.replica-urls=" + ReplicaReadsTests.REPLICA_URL,
+        "tasks.datasource.read-your-writes-ms=" + ReplicaReadsTests.WINDOW_MS
+})
+class ReplicaReadsTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;IGNORE_UNKNOWN_SETTINGS=TRUE;DB_CLOSE_DELAY=-1;"
+            + "INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'";
+    static final long WINDOW_MS = 500;
+
+    @Autowired
+    private TaskService taskService;
+
+    // The replica pool logs in with the primary's credentials, which is how its database was created
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Test
+    void readsGoToTheReplica() throws Exception {
+        long userId = 100L;
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO tasks (id, title, priority, status, user_id, created_at) "
+                    + "VALUES (900001, 'Only on the replica', 'LOW', 'TODO', " + userId + ", CURRENT_TIMESTAMP)");
+        }
+
+        assertThat(titles(taskService.findTasks(userId, todo(), false))).containsExactly("Only on the replica");
+        assertThat(taskService.getTaskById(900001L, userId)).isPresent();
+    }
+
+    @Test
+    void ownWritesAreReadFromThePrimaryUntilTheWindowCloses() throws Exception {
+        long userId = 200L;
+        taskService.createTask(new Task("Just written", null, Priority.HIGH, Status.TODO, null, userId));
+
+        assertThat(titles(taskService.findTasks(userId, todo(), false))).containsExactly("Just written");
+
+        // The stand-in replica never receives the row, so once the user is no longer pinned it is gone
+        Thread.sleep(WINDOW_MS * 2);
+        assertThat(taskService.findTasks(userId, todo(), false)).isEmpty();
+    }
+
+    private static TaskFilter todo() {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(Status.TODO);
+        return filter;
+    }
+
+    private static List<String> titles(List<TaskView> tasks) {
+        return tasks.stream().map(TaskView::title).toList();
+    }
+}
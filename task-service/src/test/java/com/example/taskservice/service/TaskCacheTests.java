@@ -0,0 +1,84 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTests {
+
+    private static final long USER_ID = 7L;
+
+    private final TaskCache cache = new TaskCache(true, 100, 100, 300);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void writesPatchTheCachedListWithoutReloading() {
+        List<TaskView> db = new ArrayList<>(List.of(view(3L, "c"), view(1L, "a")));
+
+        assertThat(ids(cache.getUserTasks(USER_ID, userId -> load(db)))).containsExactly(1L, 3L);
+
+        cache.put(task(2L, "b"));
+        Task renamed = task(3L, "c2");
+        cache.put(renamed);
+        cache.remove(USER_ID, 1L);
+
+        List<TaskView> cached = cache.getUserTasks(USER_ID, userId -> load(db));
+        assertThat(ids(cached)).containsExactly(2L, 3L);
+        assertThat(cached.get(1).title()).isEqualTo("c2");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getTask(3L, id -> { throw new AssertionError("should be cached"); })).containsSame(renamed);
+    }
+
+    @Test
+    void writesForUncachedUsersDoNotPopulateTheirList() {
+        cache.put(task(5L, "e"));
+
+        List<TaskView> cached = cache.getUserTasks(USER_ID, userId -> load(List.of(view(5L, "e"), view(6L, "f"))));
+        assertThat(ids(cached)).containsExactly(5L, 6L);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void listsAreBoundedByTheTasksTheyHold() throws InterruptedException {
+        // One account with more tasks than the whole cache may hold is not kept, however few users are cached
+        List<TaskView> large = new ArrayList<>();
+        for (long id = 1; id <= 150; id++) {
+            large.add(view(id, "t" + id));
+        }
+        cache.getUserTasks(USER_ID, userId -> load(large));
+        // Caffeine evicts on its maintenance executor, so give it a moment
+        for (int i = 0; i < 100 && loads.get() == 1; i++) {
+            Thread.sleep(10);
+            cache.getUserTasks(USER_ID, userId -> load(large));
+        }
+        assertThat(loads.get()).isGreaterThan(1);
+    }
+
+    private List<TaskView> load(List<TaskView> rows) {
+        loads.incrementAndGet();
+        return new ArrayList<>(rows);
+    }
+
+    private static List<Long> ids(List<TaskView> tasks) {
+        return tasks.stream().map(TaskView::id).toList();
+    }
+
+    private static TaskView view(Long id, String title) {
+        return TaskView.of(task(id, title));
+    }
+
+    private static Task task(Long id, String title) {
+        Task task = new Task(title, null, Priority.LOW, Status.TODO, LocalDateTime.now(), USER_ID);
+        task.setId(id);
+        return task;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.util.Hs256JwtCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:events;MODE=MySQL;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "tasks.stream.dispatch-threads=1",
+        "tasks.stream.buffer-size=1000",
+        "tasks.stream.write-timeout-ms=500"
+})
+class TaskEventHubTests {
+
+    private static final long STALLED_USER = 900L;
+    private static final long READING_USER = 901L;
+    private static final long TWO_STREAMS_USER = 902L;
+
+    @Autowired
+    private TaskEventHub eventHub;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Test
+    void aStalledClientIsDroppedWithoutHoldingBackOthers() throws Exception {
+        // Never reads, with a tiny receive window, so the server's writes block once its send buffer is full
+        try (Socket stalled = new Socket()) {
+            stalled.setReceiveBufferSize(1024);
+            stalled.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = stalled.getOutputStream();
+            out.write(("GET /api/tasks/stream HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Authorization: Bearer " + token(STALLED_USER) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            HttpResponse<Stream<String>> reading = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/stream"))
+                            .header("Authorization", "Bearer " + token(READING_USER))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofLines());
+            assertThat(reading.statusCode()).isEqualTo(200);
+            waitForSubscribers(2);
+
+            String large = "x".repeat(64 * 1024);
+            for (int i = 0; i < 500; i++) {
+                eventHub.publish(STALLED_USER, TaskEventHub.UPDATED, Map.of("payload", large));
+            }
+            eventHub.publish(READING_USER, TaskEventHub.CREATED, Map.of("id", 1));
+
+            CompletableFuture<String> created = CompletableFuture.supplyAsync(() -> reading.body()
+                    .filter(line -> line.startsWith("event:"))
+                    .findFirst()
+                    .orElse(null));
+            assertThat(created.get(10, TimeUnit.SECONDS)).isEqualTo("event:created");
+            assertThat(eventHub.subscribedUserIds()).containsExactly(READING_USER);
+        }
+    }
+
+    @Test
+    @DirtiesContext // its streams stay subscribed until the server goes away
+    void everyStreamOfAUserReceivesEachEventOnce() throws Exception {
+        Iterator<String> first = openStream(TWO_STREAMS_USER);
+        Iterator<String> second = openStream(TWO_STREAMS_USER);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            eventHub.publish(TWO_STREAMS_USER, TaskEventHub.UPDATED, Map.of("id", i));
+            expected.add("data:{\"id\":" + i + "}");
+        }
+
+        CompletableFuture<List<String>> firstLines = CompletableFuture.supplyAsync(() -> readEvents(first, 50));
+        CompletableFuture<List<String>> secondLines = CompletableFuture.supplyAsync(() -> readEvents(second, 50));
+        for (List<String> lines : List.of(firstLines.get(10, TimeUnit.SECONDS), secondLines.get(10, TimeUnit.SECONDS))) {
+            assertThat(lines.stream().filter(line -> line.startsWith("data:"))).containsExactlyElementsOf(expected);
+            assertThat(lines.stream().filter(line -> line.startsWith("event:"))).hasSize(50).containsOnly("event:updated");
+            assertThat(lines.stream().filter(line -> line.startsWith("id:"))).hasSize(50).doesNotHaveDuplicates();
+            // A builder built twice ends its event with a second blank line
+            assertThat(String.join("\n", lines)).doesNotContain("\n\n\n");
+        }
+    }
+
+    /** Opens a stream and returns its lines once the hub has registered it. */
+    private Iterator<String> openStream(long userId) throws Exception {
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/stream"))
+                        .header("Authorization", "Bearer " + token(userId))
+                        .build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        Iterator<String> lines = response.body().iterator();
+        assertThat(lines.next()).isEqualTo(":connected");
+        return lines;
+    }
+
+    /** The lines up to and including the {@code count}th event's data. */
+    private static List<String> readEvents(Iterator<String> lines, int count) {
+        List<String> read = new ArrayList<>();
+        int events = 0;
+        while (events < count && lines.hasNext()) {
+            String line = lines.next();
+            read.add(line);
+            if (line.startsWith("data:")) {
+                events++;
+            }
+        }
+        return read;
+    }
+
+    private void waitForSubscribers(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && eventHub.subscribedUserIds().size() < count; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(eventHub.subscribedUserIds()).hasSize(count);
+    }
+
+    private String token(long userId) {
+        long now = Instant.now().getEpochSecond();
+        return new Hs256JwtCodec(secret.getBytes()).sign("stream-user-" + userId, userId, now, now + 3600);
+    }
+}
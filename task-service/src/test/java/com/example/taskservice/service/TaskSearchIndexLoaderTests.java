@@ -0,0 +1,61 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.entity.TaskTombstone;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search-catch-up;MODE=MySQL;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "tasks.search.catch-up-ms=3600000"
+})
+class TaskSearchIndexLoaderTests {
+
+    private static final long USER_ID = 600L;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskSearchIndexLoader loader;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Test
+    void catchUpAppliesWritesMadeThroughAnotherInstance() throws InterruptedException {
+        for (int i = 0; i < 100 && !searchIndex.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(searchIndex.isReady()).isTrue();
+
+        // Saved through the repository, as another instance would: this one's index never hears of it
+        Task task = taskRepository.save(new Task("Renew passport", "before the summer trip",
+                Priority.HIGH, Status.TODO, null, USER_ID));
+        assertThat(searchIndex.search(USER_ID, "passport", 10)).isEmpty();
+
+        loader.catchUp();
+        assertThat(searchIndex.search(USER_ID, "passport", 10)).extracting(TaskView::id).containsExactly(task.getId());
+
+        taskRepository.delete(task);
+        tombstoneRepository.save(new TaskTombstone(task.getId(), USER_ID, LocalDateTime.now()));
+        loader.catchUp();
+        assertThat(searchIndex.search(USER_ID, "passport", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTests {
+
+    private static final long USER_ID = 7L;
+
+    private final TaskSearchIndex index = new TaskSearchIndex(true);
+
+    @Test
+    void matchesEveryWordWithTheLastAsAPrefix() {
+        index.index(view(1L, "Quarterly report", "numbers for finance"));
+        index.index(view(2L, "Report bug", "crash on login"));
+        index.index(view(3L, "Groceries", "milk, eggs"));
+
+        assertThat(ids(index.search(USER_ID, "rep", 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search(USER_ID, "report fin", 10))).containsExactly(1L);
+        // Trailing whitespace: the last word is complete, so "rep" no longer expands
+        assertThat(index.search(USER_ID, "rep ", 10)).isEmpty();
+        assertThat(index.search(USER_ID, "report dentist", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        index.index(view(1L, "Call plumber", "about the kitchen sink"));
+        index.index(view(2L, "Kitchen", "buy new tiles"));
+
+        assertThat(ids(index.search(USER_ID, "kitchen", 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.search(USER_ID, "kitchen", 1))).containsExactly(2L);
+    }
+
+    @Test
+    void ignoresCaseAndAccents() {
+        index.index(view(1L, "Résumé update", null));
+
+        assertThat(ids(index.search(USER_ID, "RESUME", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.index(view(1L, "Draft slides", null));
+        index.index(view(1L, "Final deck", null));
+
+        assertThat(index.search(USER_ID, "slides", 10)).isEmpty();
+        assertThat(ids(index.search(USER_ID, "deck", 10))).containsExactly(1L);
+
+        index.remove(USER_ID, 1L);
+        assertThat(index.search(USER_ID, "deck", 10)).isEmpty();
+        assertThat(index.taskCount()).isZero();
+    }
+
+    @Test
+    void keepsUsersApart() {
+        index.index(view(1L, "Secret plan", null));
+
+        assertThat(index.search(USER_ID + 1, "secret", 10)).isEmpty();
+    }
+
+    @Test
+    void startupLoadDoesNotOverwriteNewerWrites() {
+        index.beginRebuild();
+        index.index(view(1L, "Renamed", null));
+        index.remove(USER_ID, 2L);
+
+        // Rows the load read before those writes committed
+        index.load(view(1L, "Original", null));
+        index.load(view(2L, "Deleted meanwhile", null));
+        index.load(view(3L, "Untouched", null));
+        index.finishRebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(index.search(USER_ID, "renamed", 10))).containsExactly(1L);
+        assertThat(index.search(USER_ID, "original", 10)).isEmpty();
+        assertThat(index.search(USER_ID, "deleted", 10)).isEmpty();
+        assertThat(ids(index.search(USER_ID, "untouched", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void catchUpDoesNotOverwriteALaterLocalUpdate() {
+        LocalDateTime read = LocalDateTime.now().minusSeconds(1);
+        index.index(view(1L, "Renamed", null));
+
+        index.refresh(new TaskView(1L, "Original", null, Priority.LOW, Status.TODO, null, USER_ID, read, read));
+        index.refresh(new TaskView(2L, "From elsewhere", null, Priority.LOW, Status.TODO, null, USER_ID, read, read));
+
+        assertThat(ids(index.search(USER_ID, "renamed", 10))).containsExactly(1L);
+        assertThat(index.search(USER_ID, "original", 10)).isEmpty();
+        assertThat(ids(index.search(USER_ID, "elsewhere", 10))).containsExactly(2L);
+    }
+
+    private static List<Long> ids(List<TaskView> tasks) {
+        return tasks.stream().map(TaskView::id).toList();
+    }
+
+    private static TaskView view(Long id, String title, String description) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TaskView(id, title, description, Priority.LOW, Status.TODO, null, USER_ID, now, now);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskBatchRequest;
+import com.example.taskservice.dto.TaskBatchResult;
+import com.example.taskservice.dto.TaskStats;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.entity.TaskTombstone;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch;MODE=MySQL;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class TaskServiceBatchTests {
+
+    private static final long MIXED_USER = 800L;
+    private static final long INVALID_USER = 801L;
+    private static final long OTHER_USER = 802L;
+    private static final long ROLLBACK_USER = 803L;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService statsService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void appliesCreatesUpdatesAndDeletesInOrder() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        Task kept = taskService.createTask(new Task("Book flights", null, Priority.LOW, Status.TODO, null, MIXED_USER));
+        Task dropped = taskService.createTask(new Task("Pack", null, Priority.HIGH, Status.TODO, null, MIXED_USER));
+
+        List<TaskBatchResult> results = taskService.applyBatch(MIXED_USER, List.of(
+                create(request("Renew passport", Priority.MEDIUM, Status.IN_PROGRESS)),
+                update(kept.getId(), request("Book flights", Priority.HIGH, Status.DONE)),
+                delete(dropped.getId())));
+
+        assertThat(results).extracting(TaskBatchResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(results).extracting(TaskBatchResult::getStatus).containsExactly(201, 200, 200);
+        Long createdId = results.get(0).getId();
+        assertThat(taskRepository.findById(createdId)).get()
+                .extracting(Task::getTitle, Task::getUserId).containsExactly("Renew passport", MIXED_USER);
+        assertThat(taskRepository.findById(kept.getId())).get()
+                .extracting(Task::getPriority, Task::getStatus).containsExactly(Priority.HIGH, Status.DONE);
+        assertThat(results.get(1).getTask().getUpdatedAt()).isNotNull();
+        assertThat(taskRepository.findById(dropped.getId())).isEmpty();
+
+        assertThat(tombstoneRepository.findByUserIdAndDeletedAtAfter(MIXED_USER, before))
+                .extracting(TaskTombstone::getTaskId).containsExactly(dropped.getId());
+
+        TaskStats stats = statsService.getStats(MIXED_USER);
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.byStatus()).containsEntry(Status.TODO, 0L).containsEntry(Status.IN_PROGRESS, 1L)
+                .containsEntry(Status.DONE, 1L);
+        assertThat(stats.byPriority()).containsEntry(Priority.LOW, 0L).containsEntry(Priority.MEDIUM, 1L)
+                .containsEntry(Priority.HIGH, 1L);
+    }
+
+    @Test
+    void reportsInvalidAndMissingOperationsWithoutFailingTheOthers() {
+        Task mine = taskService.createTask(new Task("Book flights", null, Priority.LOW, Status.TODO, null, INVALID_USER));
+        Task theirs = taskService.createTask(new Task("Pack", null, Priority.LOW, Status.TODO, null, OTHER_USER));
+
+        List<TaskBatchResult> results = taskService.applyBatch(INVALID_USER, List.of(
+                new TaskBatchRequest.Operation(null, mine.getId(), null),
+                new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.UPDATE, null,
+                        request("No target", Priority.LOW, Status.TODO)),
+                create(request(" ", Priority.LOW, Status.TODO)),
+                update(theirs.getId(), request("Stolen", Priority.HIGH, Status.DONE)),
+                delete(theirs.getId()),
+                delete(Long.MAX_VALUE),
+                update(mine.getId(), request("Book flights", Priority.LOW, Status.DONE))));
+
+        assertThat(results).extracting(TaskBatchResult::getStatus).containsExactly(400, 400, 400, 404, 404, 404, 200);
+        assertThat(results).extracting(TaskBatchResult::getError).containsExactly("op is required",
+                "id is required", "Title is required", "Task not found or access denied",
+                "Task not found or access denied", "Task not found or access denied", null);
+        assertThat(taskRepository.findById(theirs.getId())).get()
+                .extracting(Task::getTitle, Task::getStatus).containsExactly("Pack", Status.TODO);
+        assertThat(taskRepository.findById(mine.getId())).get().extracting(Task::getStatus).isEqualTo(Status.DONE);
+        assertThat(taskRepository.findByUserId(INVALID_USER)).hasSize(1);
+        assertThat(statsService.getStats(OTHER_USER).total()).isEqualTo(1);
+    }
+
+    @Test
+    void aDatabaseErrorRollsTheWholeBatchBack() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        Task kept = taskService.createTask(new Task("Book flights", null, Priority.LOW, Status.TODO, null, ROLLBACK_USER));
+        Task doomed = taskService.createTask(new Task("Pack", null, Priority.HIGH, Status.TODO, null, ROLLBACK_USER));
+        // Passes validation, so only the INSERT at flush fails
+        jdbcTemplate.execute("ALTER TABLE tasks ADD CONSTRAINT no_rejected_titles CHECK (title <> 'Rejected')");
+        try {
+            assertThatThrownBy(() -> taskService.applyBatch(ROLLBACK_USER, List.of(
+                    update(kept.getId(), request("Book flights", Priority.HIGH, Status.DONE)),
+                    delete(doomed.getId()),
+                    create(request("Renew passport", Priority.MEDIUM, Status.TODO)),
+                    create(request("Rejected", Priority.MEDIUM, Status.TODO)))))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE tasks DROP CONSTRAINT no_rejected_titles");
+        }
+
+        assertThat(taskRepository.findByUserId(ROLLBACK_USER)).extracting(Task::getTitle)
+                .containsExactlyInAnyOrder("Book flights", "Pack");
+        assertThat(taskRepository.findById(kept.getId())).get()
+                .extracting(Task::getPriority, Task::getStatus).containsExactly(Priority.LOW, Status.TODO);
+        assertThat(tombstoneRepository.findByUserIdAndDeletedAtAfter(ROLLBACK_USER, before)).isEmpty();
+
+        TaskStats stats = statsService.getStats(ROLLBACK_USER);
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.byStatus()).containsEntry(Status.TODO, 2L).containsEntry(Status.DONE, 0L);
+        assertThat(stats.byPriority()).containsEntry(Priority.LOW, 1L).containsEntry(Priority.HIGH, 1L)
+                .containsEntry(Priority.MEDIUM, 0L);
+    }
+
+    private static TaskBatchRequest.Operation create(CreateTaskRequest task) {
+        return new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.CREATE, null, task);
+    }
+
+    private static TaskBatchRequest.Operation update(Long id, CreateTaskRequest task) {
+        return new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.UPDATE, id, task);
+    }
+
+    private static TaskBatchRequest.Operation delete(Long id) {
+        return new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.DELETE, id, null);
+    }
+
+    private static CreateTaskRequest request(String title, Priority priority, Status status) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle(title);
+        request.setPriority(priority);
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.CreateTaskRequest;
+import com.example.taskservice.dto.TaskBatchRequest;
+import com.example.taskservice.dto.TaskStats;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.repository.JobLockRepository;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stats-reconcile;MODE=MySQL;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "tasks.stats.reconcile-initial-delay-ms=3600000"
+})
+class TaskStatsServiceTests {
+
+    private static final long USER_ID = 700L;
+    private static final long WRITER_ID = 701L;
+    private static final long DRIFTED_ID = 702L;
+    private static final String RECONCILE_LOCK = "task-stats-reconcile";
+
+    @Autowired
+    private TaskStatsService statsService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatsRepository statsRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Test
+    void reconcileSkipsWhileAnotherInstanceHoldsTheLease() {
+        // Saved behind the service's back, so its counters drift
+        taskRepository.save(new Task("Book flights", null, Priority.HIGH, Status.TODO, null, USER_ID));
+        assertThat(statsService.reconcile()).isEqualTo(1);
+        assertThat(statsService.getStats(USER_ID).total()).isEqualTo(1);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime until = now.plusHours(1);
+        assertThat(jobLockRepository.acquire(RECONCILE_LOCK, now, until)).isEqualTo(1);
+
+        taskRepository.save(new Task("Pack", null, Priority.LOW, Status.TODO, null, USER_ID));
+        assertThat(statsService.reconcile()).isZero();
+        assertThat(statsService.getStats(USER_ID).total()).isEqualTo(1);
+
+        jobLockRepository.release(RECONCILE_LOCK, until, now);
+        assertThat(statsService.reconcile()).isEqualTo(1);
+        assertThat(statsService.getStats(USER_ID).total()).isEqualTo(2);
+    }
+
+    @Test
+    void countersFollowEveryKindOfWrite() {
+        Task first = taskService.createTask(new Task("Book flights", null, Priority.HIGH, Status.TODO, null, WRITER_ID));
+        Task second = taskService.createTask(new Task("Pack", null, Priority.LOW, Status.TODO, null, WRITER_ID));
+        assertCounts(WRITER_ID, 2, Map.of(Status.TODO, 2L), Map.of(Priority.HIGH, 1L, Priority.LOW, 1L));
+
+        taskService.updateTask(first.getId(),
+                new Task("Book flights", null, Priority.MEDIUM, Status.IN_PROGRESS, null, WRITER_ID), WRITER_ID);
+        assertCounts(WRITER_ID, 2, Map.of(Status.TODO, 1L, Status.IN_PROGRESS, 1L),
+                Map.of(Priority.MEDIUM, 1L, Priority.LOW, 1L));
+
+        taskService.deleteTask(second.getId(), WRITER_ID);
+        assertCounts(WRITER_ID, 1, Map.of(Status.IN_PROGRESS, 1L), Map.of(Priority.MEDIUM, 1L));
+
+        taskService.applyBatch(WRITER_ID, List.of(
+                new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.CREATE, null,
+                        request("Renew passport", Priority.HIGH, Status.TODO)),
+                new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.CREATE, null,
+                        request("Print tickets", Priority.LOW, Status.DONE)),
+                new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.UPDATE, first.getId(),
+                        request("Book flights", Priority.HIGH, Status.DONE)),
+                // Already deleted: reported as not found, and counts nothing
+                new TaskBatchRequest.Operation(TaskBatchRequest.OperationType.DELETE, second.getId(), null)));
+        assertCounts(WRITER_ID, 3, Map.of(Status.TODO, 1L, Status.DONE, 2L),
+                Map.of(Priority.HIGH, 2L, Priority.LOW, 1L));
+    }
+
+    @Test
+    void reconcileRepairsACounterSetWrong() {
+        taskService.createTask(new Task("Book flights", null, Priority.HIGH, Status.TODO, null, DRIFTED_ID));
+        statsRepository.add(DRIFTED_ID, Status.TODO, Priority.HIGH, 5);
+        statsRepository.add(DRIFTED_ID, Status.DONE, Priority.LOW, -2);
+        assertThat(statsService.getStats(DRIFTED_ID).total()).isEqualTo(4);
+
+        assertThat(statsService.reconcile()).isEqualTo(2);
+        assertCounts(DRIFTED_ID, 1, Map.of(Status.TODO, 1L), Map.of(Priority.HIGH, 1L));
+        assertThat(statsService.reconcile()).isZero();
+    }
+
+    /** {@code byStatus} and {@code byPriority} list the non-zero counts; every other one must be 0. */
+    private void assertCounts(long userId, long total, Map<Status, Long> byStatus, Map<Priority, Long> byPriority) {
+        TaskStats stats = statsService.getStats(userId);
+        assertThat(stats.total()).isEqualTo(total);
+        for (Status status : Status.values()) {
+            assertThat(stats.byStatus().get(status)).as("%s", status).isEqualTo(byStatus.getOrDefault(status, 0L));
+        }
+        for (Priority priority : Priority.values()) {
+            assertThat(stats.byPriority().get(priority)).as("%s", priority)
+                    .isEqualTo(byPriority.getOrDefault(priority, 0L));
+        }
+    }
+
+    private static CreateTaskRequest request(String title, Priority priority, Status status) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle(title);
+        request.setPriority(priority);
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskImportResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transfer;MODE=MySQL;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "tasks.import.batch-size=2"
+})
+class TaskTransferServiceTests {
+
+    @Autowired
+    private TaskTransferService transferService;
+
+    @Test
+    void csvImportReportsBadRowsAndExportsTheRestAsNdjson() throws Exception {
+        long userId = 500L;
+        String csv = """
+                title,description,priority,status,dueDate
+                Write report,"Numbers, charts",HIGH,TODO,2030-01-15T10:00:00
+                ,Missing title,LOW,TODO,
+                Call back,,URGENT,TODO,
+                Plan trip,,LOW,DONE,
+                """;
+
+        TaskImportResult result = transferService.importTasks(userId, TaskTransferService.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.rows()).isEqualTo(4);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.errors()).extracting(TaskImportResult.RowError::row).containsExactly(2L, 3L);
+        assertThat(result.error()).isNull();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transferService.export(userId, null, TaskTransferService.Format.NDJSON, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"title\":\"Write report\"", "\"description\":\"Numbers, charts\"");
+        assertThat(lines[1]).contains("\"title\":\"Plan trip\"").doesNotContain("description");
+
+        // An export imports back as new tasks
+        TaskImportResult again = transferService.importTasks(userId, TaskTransferService.Format.NDJSON,
+                new ByteArrayInputStream(out.toByteArray()));
+        assertThat(again.imported()).isEqualTo(2);
+        assertThat(again.failed()).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.taskservice.service;
+
+import com.example.taskservice.dto.TaskView;
+import com.example.taskservice.entity.Priority;
+import com.example.taskservice.entity.Status;
+import com.example.taskservice.entity.Task;
+import com.example.taskservice.repository.TaskRepository;
+import com.example.taskservice.repository.TaskVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:versions;MODE=MySQL;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class TaskVersionsTests {
+
+    private static final long LOCAL_USER = 600L;
+    private static final long REMOTE_USER = 601L;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskVersionRepository versionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void everyWriteMovesTheVersionForward() {
+        String untouched = taskService.getTasksVersion(LOCAL_USER);
+        assertThat(untouched).isEqualTo("0");
+
+        Task task = taskService.createTask(new Task("Book flights", null, Priority.LOW, Status.TODO, null, LOCAL_USER));
+        String created = taskService.getTasksVersion(LOCAL_USER);
+        taskService.updateTask(task.getId(),
+                new Task("Book flights", null, Priority.HIGH, Status.DONE, null, LOCAL_USER), LOCAL_USER);
+        String updated = taskService.getTasksVersion(LOCAL_USER);
+        taskService.deleteTask(task.getId(), LOCAL_USER);
+        String deleted = taskService.getTasksVersion(LOCAL_USER);
+
+        assertThat(Long.parseLong(created)).isGreaterThan(Long.parseLong(untouched));
+        assertThat(Long.parseLong(updated)).isGreaterThan(Long.parseLong(created));
+        assertThat(Long.parseLong(deleted)).isGreaterThan(Long.parseLong(updated));
+        assertThat(taskService.getTasksVersion(LOCAL_USER)).isEqualTo(deleted);
+    }
+
+    @Test
+    void aWriteThroughAnotherInstanceChangesTheVersionAndReloadsTheList() {
+        taskService.createTask(new Task("Book flights", null, Priority.LOW, Status.TODO, null, REMOTE_USER));
+        String before = taskService.getTasksVersion(REMOTE_USER);
+        assertThat(taskService.getAllTasksByUserId(REMOTE_USER)).hasSize(1);
+
+        // What another instance's write leaves in the database; this instance's cache never saw it
+        transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.save(new Task("Pack", null, Priority.HIGH, Status.TODO, null, REMOTE_USER));
+            versionRepository.increment(REMOTE_USER);
+        });
+
+        assertThat(taskService.getTasksVersion(REMOTE_USER)).isNotEqualTo(before);
+        assertThat(taskService.getAllTasksByUserId(REMOTE_USER)).extracting(TaskView::title)
+                .containsExactly("Book flights", "Pack");
+    }
+}
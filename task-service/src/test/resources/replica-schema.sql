@@ -0,0 +1,14 @@
+-- The tasks table as Hibernate creates it for H2, for the stand-in replica of ReplicaReadsTests.
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT NOT NULL PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    priority VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    due_date TIMESTAMP(6),
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    is_open BOOLEAN GENERATED ALWAYS AS (status <> 'DONE')
+);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_id ON tasks (user_id, id);
@@ -0,0 +1,47 @@
+package com.example.userservice.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, per thread, which repository method is running, so every statement it issues can be
+ * tagged with it (for example {@code UserRepository.findByUsername}). Statements issued
+ * outside a repository call, such as a flush at the commit of a service-level transaction or plain
+ * {@code JdbcTemplate} calls, are {@value #UNATTRIBUTED}.
+ */
+public final class QueryAttribution {
+
+    static final String UNATTRIBUTED = "other";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private QueryAttribution() {
+    }
+
+    static String current() {
+        String method = CURRENT.get();
+        return method != null ? method : UNATTRIBUTED;
+    }
+
+    /** Advice for the proxies of {@code repositoryInterface}; add it first so it also covers their commit. */
+    static MethodInterceptor interceptor(Class<?> repositoryInterface) {
+        String prefix = repositoryInterface.getSimpleName() + ".";
+        Map<Method, String> names = new ConcurrentHashMap<>();
+        return invocation -> {
+            String previous = CURRENT.get();
+            CURRENT.set(names.computeIfAbsent(invocation.getMethod(), method -> prefix + method.getName()));
+            try {
+                return invocation.proceed();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.userservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement into the {@code db.query} histogram, tagged with the repository method
+ * that issued it ({@link QueryAttribution}), the statement type and the outcome, and counts the
+ * statements of the current HTTP request for {@link QueryCountFilter}.
+ *
+ * Statements slower than {@code db.slow-query-ms} are logged at WARN with their SQL and issuing
+ * method. Bind parameters are redacted: only their types are logged, never their values, so
+ * usernames, emails and password hashes do not end up in the logs.
+ */
+@Component
+public class QueryMetricsListener implements QueryExecutionListener, MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(QueryMetricsListener.class);
+
+    private static final ThreadLocal<ThreadState> STATE = ThreadLocal.withInitial(ThreadState::new);
+
+    private final long slowQueryNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    // Set once metrics are bound; statements before that are simply not timed.
+    private volatile MeterRegistry registry;
+
+    public QueryMetricsListener(@Value("${db.slow-query-ms:250}") long slowQueryMs) {
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMs);
+    }
+
+    /** Starts counting this thread's statements; {@link #stopCounting} returns the count. */
+    static void startCounting() {
+        STATE.get().statements = 0;
+    }
+
+    static int stopCounting() {
+        ThreadState state = STATE.get();
+        int statements = state.statements;
+        state.statements = -1;
+        return Math.max(statements, 0);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Statements on one thread never overlap, so one start time per thread is enough
+        STATE.get().startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        ThreadState state = STATE.get();
+        long nanos = System.nanoTime() - state.startNanos;
+        if (state.statements >= 0) {
+            state.statements++;
+        }
+
+        String method = QueryAttribution.current();
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        MeterRegistry meters = registry;
+        if (meters != null) {
+            timer(meters, method, statementType(sql), execInfo.isSuccess() ? "success" : "error")
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (nanos >= slowQueryNanos && logger.isWarnEnabled()) {
+            logger.warn("Slow query: {} ms from {}{}: {} params={}", TimeUnit.NANOSECONDS.toMillis(nanos), method,
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "",
+                    sql, redactedParameters(queryInfoList));
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private Timer timer(MeterRegistry meters, String method, String type, String outcome) {
+        return timers.computeIfAbsent(method + '|' + type + '|' + outcome, key -> Timer.builder("db.query")
+                .description("JDBC statement execution time")
+                .tag("method", method)
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meters));
+    }
+
+    private static String statementType(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "merge" -> keyword;
+            default -> "other";
+        };
+    }
+
+    // Types of the first parameter set, in order; values never leave this method
+    private static String redactedParameters(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty() || queryInfoList.get(0).getParametersList().isEmpty()) {
+            return "[]";
+        }
+        StringJoiner types = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : queryInfoList.get(0).getParametersList().get(0)) {
+            Object[] args = operation.getArgs();
+            boolean isNull = "setNull".equals(operation.getMethod().getName()) || args.length < 2 || args[1] == null;
+            types.add(isNull ? "null" : args[1].getClass().getSimpleName());
+        }
+        return types.toString();
+    }
+
+    private static final class ThreadState {
+        long startNanos;
+        // -1 when no request is being counted on this thread
+        int statements = -1;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.userservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final InFlightRequestsInterceptor inFlightRequestsInterceptor;
+
+    public WebConfig(InFlightRequestsInterceptor inFlightRequestsInterceptor) {
+        this.inFlightRequestsInterceptor = inFlightRequestsInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(inFlightRequestsInterceptor);
+    }
+}
@@ -2,6 +2,9 @@ package com.example.userservice.security;
 
 import com.example.userservice.service.UserService;
 import com.example.userservice.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,12 +18,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Authenticates requests carrying a valid JWT; this includes loading the user. The time spent here,
+ * excluding the rest of the chain, is recorded as {@code http.server.requests.auth} tagged
+ * {@code result=valid|invalid|none}, to set against {@code http.server.requests}.
+ */
 @Component
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
+public class JwtAuthenticationFilter extends OncePerRequestFilter implements MeterBinder {
     
     private final JwtUtil jwtUtil;
     private final UserService userService;
+
+    // Set once metrics are bound; requests before that are simply not timed.
+    private volatile Timer validTimer;
+    private volatile Timer invalidTimer;
+    private volatile Timer noTokenTimer;
     
     public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
         this.jwtUtil = jwtUtil;
@@ -30,7 +44,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, 
                                   @NonNull FilterChain filterChain) throws ServletException, IOException {
-        
+        long start = System.nanoTime();
+        boolean authenticated = false;
         final String authorizationHeader = request.getHeader("Authorization");
         
         String username = null;
@@ -53,9 +68,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                authenticated = true;
             }
         }
-        
+
+        Timer timer = jwt == null ? noTokenTimer : authenticated ? validTimer : invalidTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
         filterChain.doFilter(request, response);
     }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        validTimer = authTimer(registry, "valid");
+        invalidTimer = authTimer(registry, "invalid");
+        noTokenTimer = authTimer(registry, "none");
+    }
+
+    private static Timer authTimer(MeterRegistry registry, String result) {
+        return Timer.builder("http.server.requests.auth")
+                .description("Time spent verifying the request's JWT and loading its user")
+                .tag("result", result)
+                .register(registry);
+    }
 }
@@ -0,0 +1,755 @@
+package com.example.userservice.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Purpose-built HS256 codec for the tokens this system mints: a {@code {"alg":"HS256"}} header and a
+ * payload of {@code sub}, {@code userId}, {@code iat} and {@code exp}. Signed output is byte-for-byte
+ * what jjwt produces for {@code JwtUtil.generateToken(String, Long)}, and any HS256 token jjwt accepts
+ * with the same key is accepted here.
+ *
+ * Calls reuse pooled {@link Mac} instances and scratch buffers, so signing and verifying allocate only
+ * the resulting token string or claim values. The pool is shared rather than thread-local because
+ * with virtual threads every request runs on a new thread and would rebuild its {@code Mac}.
+ *
+ * The payload is scanned for the few claims we read instead of being deserialized into a map.
+ * Failures are reported with jjwt's exception types so callers keep catching
+ * {@code JwtException | IllegalArgumentException}.
+ */
+public final class Hs256JwtCodec {
+
+    /** Tomcat rejects headers above 8 KB by default; anything longer is not one of our tokens. */
+    static final int MAX_TOKEN_LENGTH = 8192;
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int ENCODED_SIGNATURE_LENGTH = 43;
+    // Power of two; signing and verifying never block, so concurrent users rarely exceed the core count
+    private static final int POOL_SLOTS =
+            Math.max(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4));
+
+    // base64url({"alg":"HS256"})
+    private static final byte[] HEADER = ascii("eyJhbGciOiJIUzI1NiJ9");
+    private static final byte[] ALG = ascii("alg");
+    private static final byte[] HS256 = ascii("HS256");
+    private static final byte[] SUB = ascii("sub");
+    private static final byte[] USER_ID = ascii("userId");
+    private static final byte[] IAT = ascii("iat");
+    private static final byte[] EXP = ascii("exp");
+    private static final byte[] NBF = ascii("nbf");
+
+    private static final byte[] ENCODE = ascii("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_");
+    private static final byte[] DECODE = new byte[128];
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ENCODE.length; i++) {
+            DECODE[ENCODE[i]] = (byte) i;
+        }
+    }
+
+    private final SecretKeySpec key;
+    private final AtomicReferenceArray<Scratch> pool = new AtomicReferenceArray<>(POOL_SLOTS);
+
+    public Hs256JwtCodec(byte[] secret) {
+        if (secret == null || secret.length < SIGNATURE_LENGTH) {
+            throw new IllegalArgumentException("HS256 requires a secret of at least 256 bits");
+        }
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    private Scratch acquire() {
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i < POOL_SLOTS; i++) {
+            Scratch s = pool.getAndSet((start + i) & (POOL_SLOTS - 1), null);
+            if (s != null) {
+                return s;
+            }
+        }
+        return new Scratch(newMac(key));
+    }
+
+    private void release(Scratch s) {
+        // A failed verification can leave input in the Mac; reset before handing it to the next caller
+        s.mac.reset();
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i < POOL_SLOTS; i++) {
+            if (pool.compareAndSet((start + i) & (POOL_SLOTS - 1), null, s)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Signs a token with claims in jjwt's order ({@code sub}, {@code userId}, {@code iat}, {@code exp}).
+     * A null subject or user id is omitted, as jjwt does.
+     */
+    public String sign(String subject, Long userId, long issuedAtSeconds, long expiresAtSeconds) {
+        Scratch s = acquire();
+        try {
+            return sign(s, subject, userId, issuedAtSeconds, expiresAtSeconds);
+        } finally {
+            release(s);
+        }
+    }
+
+    private static String sign(Scratch s, String subject, Long userId, long issuedAtSeconds, long expiresAtSeconds) {
+        s.jsonLength = 0;
+        s.writeAscii('{');
+        boolean first = true;
+        if (subject != null) {
+            s.writeAscii("\"sub\":");
+            s.writeJsonString(subject);
+            first = false;
+        }
+        if (userId != null) {
+            s.writeAscii(first ? "\"userId\":" : ",\"userId\":");
+            s.writeLong(userId);
+            first = false;
+        }
+        s.writeAscii(first ? "\"iat\":" : ",\"iat\":");
+        s.writeLong(issuedAtSeconds);
+        s.writeAscii(",\"exp\":");
+        s.writeLong(expiresAtSeconds);
+        s.writeAscii('}');
+
+        int length = HEADER.length + 1 + encodedLength(s.jsonLength) + 1 + ENCODED_SIGNATURE_LENGTH;
+        byte[] out = s.tokenBuffer(length);
+        System.arraycopy(HEADER, 0, out, 0, HEADER.length);
+        int pos = HEADER.length;
+        out[pos++] = '.';
+        pos = encode(s.json, 0, s.jsonLength, out, pos);
+
+        s.mac.update(out, 0, pos);
+        s.doFinal(s.expectedSignature);
+        out[pos++] = '.';
+        pos = encode(s.expectedSignature, 0, SIGNATURE_LENGTH, out, pos);
+        return new String(out, 0, pos, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Verifies the signature, {@code exp} and {@code nbf} of {@code token} and returns the claims we use.
+     *
+     * @throws IllegalArgumentException if the token is null or empty
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, not HS256, badly signed, expired or
+     *         not yet valid
+     */
+    public DecodedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+        int length = token.length();
+        if (length > MAX_TOKEN_LENGTH) {
+            throw new MalformedJwtException("JWT exceeds " + MAX_TOKEN_LENGTH + " characters.");
+        }
+
+        Scratch s = acquire();
+        try {
+            return verify(s, token, length);
+        } finally {
+            release(s);
+        }
+    }
+
+    private static DecodedToken verify(Scratch s, String token, int length) {
+        byte[] buf = s.tokenBuffer(length);
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    throw new MalformedJwtException("JWT strings must contain exactly 2 period characters.");
+                }
+            } else if (c > 0x7F) {
+                throw new MalformedJwtException("JWT strings must only contain base64url characters.");
+            }
+            buf[i] = (byte) c;
+        }
+        if (secondDot < 0) {
+            throw new MalformedJwtException("JWT strings must contain exactly 2 period characters.");
+        }
+        if (secondDot == length - 1) {
+            throw new UnsupportedJwtException("Unsigned JWTs are not supported.");
+        }
+
+        checkHeader(s, buf, firstDot);
+
+        if (length - secondDot - 1 != ENCODED_SIGNATURE_LENGTH
+                || decode(buf, secondDot + 1, length, s.actualSignature, 0) != SIGNATURE_LENGTH) {
+            throw new SignatureException("JWT signature is not a valid HS256 signature.");
+        }
+        s.mac.update(buf, 0, secondDot);
+        s.doFinal(s.expectedSignature);
+        if (!MessageDigest.isEqual(s.expectedSignature, s.actualSignature)) {
+            throw new SignatureException("JWT signature does not match locally computed signature.");
+        }
+
+        byte[] json = s.jsonBuffer(decodedLength(secondDot - firstDot - 1));
+        int jsonLength = decode(buf, firstDot + 1, secondDot, json, 0);
+        if (jsonLength < 0) {
+            throw new MalformedJwtException("JWT payload is not valid base64url.");
+        }
+        return readClaims(s.cursor.reset(json, jsonLength));
+    }
+
+    private static void checkHeader(Scratch s, byte[] buf, int headerEnd) {
+        if (headerEnd == HEADER.length && Arrays.equals(buf, 0, headerEnd, HEADER, 0, HEADER.length)) {
+            return;
+        }
+        byte[] json = s.jsonBuffer(decodedLength(headerEnd));
+        int jsonLength = decode(buf, 0, headerEnd, json, 0);
+        if (jsonLength < 0) {
+            throw new MalformedJwtException("JWT header is not valid base64url.");
+        }
+        JsonCursor cursor = s.cursor.reset(json, jsonLength);
+        boolean hs256 = false;
+        cursor.beginObject();
+        while (cursor.nextField()) {
+            int keyStart = cursor.readString();
+            cursor.expectColon();
+            if (cursor.rawEquals(keyStart, ALG) && cursor.peek() == '"') {
+                int valueStart = cursor.readString();
+                hs256 = cursor.rawEquals(valueStart, HS256);
+            } else {
+                cursor.skipValue();
+            }
+        }
+        if (!hs256) {
+            throw new UnsupportedJwtException("Only HS256 signed JWTs are supported.");
+        }
+    }
+
+    private static DecodedToken readClaims(JsonCursor cursor) {
+        String subject = null;
+        Long userId = null;
+        long issuedAt = NO_TIME;
+        long expiresAt = NO_TIME;
+        long notBefore = NO_TIME;
+
+        cursor.beginObject();
+        while (cursor.nextField()) {
+            int keyStart = cursor.readString();
+            cursor.expectColon();
+            if (cursor.rawEquals(keyStart, SUB)) {
+                subject = cursor.readNullableString();
+            } else if (cursor.rawEquals(keyStart, USER_ID)) {
+                userId = cursor.readUserId();
+            } else if (cursor.rawEquals(keyStart, IAT)) {
+                issuedAt = cursor.readLong();
+            } else if (cursor.rawEquals(keyStart, EXP)) {
+                expiresAt = cursor.readLong();
+            } else if (cursor.rawEquals(keyStart, NBF)) {
+                notBefore = cursor.readLong();
+            } else {
+                cursor.skipValue();
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (expiresAt != NO_TIME && now > expiresAt * 1000) {
+            throw new ExpiredJwtException(null, null, "JWT expired at " + Instant.ofEpochSecond(expiresAt)
+                    + ". Current time: " + Instant.ofEpochMilli(now));
+        }
+        if (notBefore != NO_TIME && now < notBefore * 1000) {
+            throw new PrematureJwtException(null, null, "JWT must not be accepted before "
+                    + Instant.ofEpochSecond(notBefore) + ". Current time: " + Instant.ofEpochMilli(now));
+        }
+        return new DecodedToken(subject, userId, issuedAt, expiresAt);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int encodedLength(int length) {
+        return (length / 3) * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    private static int decodedLength(int length) {
+        return (length / 4) * 3 + 3;
+    }
+
+    // Unpadded base64url encode of src[off, off + len) into dst at dp; returns the new write position.
+    private static int encode(byte[] src, int off, int len, byte[] dst, int dp) {
+        int end = off + len - len % 3;
+        for (int i = off; i < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[dp++] = ENCODE[(bits >>> 18) & 0x3f];
+            dst[dp++] = ENCODE[(bits >>> 12) & 0x3f];
+            dst[dp++] = ENCODE[(bits >>> 6) & 0x3f];
+            dst[dp++] = ENCODE[bits & 0x3f];
+        }
+        int remaining = len % 3;
+        if (remaining == 1) {
+            int bits = (src[end] & 0xff) << 16;
+            dst[dp++] = ENCODE[(bits >>> 18) & 0x3f];
+            dst[dp++] = ENCODE[(bits >>> 12) & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[end] & 0xff) << 16 | (src[end + 1] & 0xff) << 8;
+            dst[dp++] = ENCODE[(bits >>> 18) & 0x3f];
+            dst[dp++] = ENCODE[(bits >>> 12) & 0x3f];
+            dst[dp++] = ENCODE[(bits >>> 6) & 0x3f];
+        }
+        return dp;
+    }
+
+    // Unpadded base64url decode of src[from, to) into dst at dp; returns the byte count, or -1 if invalid.
+    private static int decode(byte[] src, int from, int to, byte[] dst, int dp) {
+        if ((to - from) % 4 == 1) {
+            return -1;
+        }
+        int start = dp;
+        int bits = 0;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int v = DECODE[src[i]];
+            if (v < 0) {
+                return -1;
+            }
+            bits = bits << 6 | v;
+            if (++count == 4) {
+                dst[dp++] = (byte) (bits >> 16);
+                dst[dp++] = (byte) (bits >> 8);
+                dst[dp++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        // Trailing bits must be zero so every value has exactly one accepted encoding.
+        if (count == 2) {
+            if ((bits & 0xf) != 0) {
+                return -1;
+            }
+            dst[dp++] = (byte) (bits >> 4);
+        } else if (count == 3) {
+            if ((bits & 0x3) != 0) {
+                return -1;
+            }
+            dst[dp++] = (byte) (bits >> 10);
+            dst[dp++] = (byte) (bits >> 2);
+        }
+        return dp - start;
+    }
+
+    /** Claims read from a verified token. Times are epoch seconds. */
+    public static final class DecodedToken {
+
+        private final String subject;
+        private final Long userId;
+        private final long issuedAt;
+        private final long expiresAt;
+
+        DecodedToken(String subject, Long userId, long issuedAt, long expiresAt) {
+            this.subject = subject;
+            this.userId = userId;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        /** The {@code userId} claim as a number or numeric string; {@code null} if absent or not numeric. */
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Instant getIssuedAt() {
+            return issuedAt == NO_TIME ? null : Instant.ofEpochSecond(issuedAt);
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt == NO_TIME ? null : Instant.ofEpochSecond(expiresAt);
+        }
+    }
+
+    private static final class Scratch {
+
+        final Mac mac;
+        final byte[] expectedSignature = new byte[SIGNATURE_LENGTH];
+        final byte[] actualSignature = new byte[SIGNATURE_LENGTH];
+        final JsonCursor cursor = new JsonCursor();
+        byte[] token = new byte[512];
+        byte[] json = new byte[384];
+        int jsonLength;
+
+        Scratch(Mac mac) {
+            this.mac = mac;
+        }
+
+        byte[] tokenBuffer(int capacity) {
+            if (token.length < capacity) {
+                token = new byte[Math.max(capacity, token.length * 2)];
+            }
+            return token;
+        }
+
+        byte[] jsonBuffer(int capacity) {
+            if (json.length < capacity) {
+                json = new byte[Math.max(capacity, json.length * 2)];
+            }
+            return json;
+        }
+
+        void doFinal(byte[] output) {
+            try {
+                mac.doFinal(output, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void ensureJson(int extra) {
+            if (jsonLength + extra > json.length) {
+                json = Arrays.copyOf(json, Math.max(jsonLength + extra, json.length * 2));
+            }
+        }
+
+        void writeAscii(char c) {
+            ensureJson(1);
+            json[jsonLength++] = (byte) c;
+        }
+
+        void writeAscii(String s) {
+            int n = s.length();
+            ensureJson(n);
+            for (int i = 0; i < n; i++) {
+                json[jsonLength++] = (byte) s.charAt(i);
+            }
+        }
+
+        void writeLong(long v) {
+            if (v == Long.MIN_VALUE) {
+                writeAscii(Long.toString(v));
+                return;
+            }
+            ensureJson(20);
+            if (v < 0) {
+                json[jsonLength++] = '-';
+                v = -v;
+            }
+            int digits = 1;
+            for (long t = v; t >= 10; t /= 10) {
+                digits++;
+            }
+            int pos = jsonLength + digits;
+            jsonLength = pos;
+            do {
+                json[--pos] = (byte) ('0' + (v % 10));
+                v /= 10;
+            } while (v != 0);
+        }
+
+        // JSON string with the same escaping Jackson applies, encoded as UTF-8.
+        void writeJsonString(String s) {
+            int n = s.length();
+            ensureJson(n * 6 + 2);
+            json[jsonLength++] = '"';
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    json[jsonLength++] = '\\';
+                    json[jsonLength++] = (byte) c;
+                } else if (c < 0x20) {
+                    writeControl(c);
+                } else if (c < 0x80) {
+                    json[jsonLength++] = (byte) c;
+                } else if (c < 0x800) {
+                    json[jsonLength++] = (byte) (0xc0 | (c >> 6));
+                    json[jsonLength++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    // Jackson escapes each half of a surrogate pair rather than writing 4-byte UTF-8
+                    writeUnicodeEscape(c);
+                } else {
+                    json[jsonLength++] = (byte) (0xe0 | (c >> 12));
+                    json[jsonLength++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    json[jsonLength++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            json[jsonLength++] = '"';
+        }
+
+        private void writeControl(char c) {
+            byte escape = switch (c) {
+                case '\b' -> 'b';
+                case '\t' -> 't';
+                case '\n' -> 'n';
+                case '\f' -> 'f';
+                case '\r' -> 'r';
+                default -> 0;
+            };
+            if (escape == 0) {
+                writeUnicodeEscape(c);
+            } else {
+                json[jsonLength++] = '\\';
+                json[jsonLength++] = escape;
+            }
+        }
+
+        private void writeUnicodeEscape(char c) {
+            json[jsonLength++] = '\\';
+            json[jsonLength++] = 'u';
+            json[jsonLength++] = HEX[c >> 12];
+            json[jsonLength++] = HEX[(c >> 8) & 0xf];
+            json[jsonLength++] = HEX[(c >> 4) & 0xf];
+            json[jsonLength++] = HEX[c & 0xf];
+        }
+    }
+
+    /** Forward-only scanner over a decoded JSON object; each pooled {@link Scratch} owns one. */
+    private static final class JsonCursor {
+
+        private byte[] b;
+        private int pos;
+        private int end;
+        private int stringEnd;
+        private boolean stringEscaped;
+        private boolean firstField;
+
+        JsonCursor reset(byte[] b, int end) {
+            this.b = b;
+            this.pos = 0;
+            this.end = end;
+            return this;
+        }
+
+        byte peek() {
+            skipWhitespace();
+            if (pos >= end) {
+                throw malformed();
+            }
+            return b[pos];
+        }
+
+        void beginObject() {
+            expect('{');
+            firstField = true;
+        }
+
+        // Advances past ',' between fields; returns false once the closing '}' is consumed.
+        boolean nextField() {
+            byte c = peek();
+            if (c == '}') {
+                pos++;
+                return false;
+            }
+            if (!firstField) {
+                expect(',');
+            }
+            firstField = false;
+            return true;
+        }
+
+        void expectColon() {
+            expect(':');
+        }
+
+        // Consumes a string and returns the start of its raw content; the end is in stringEnd.
+        int readString() {
+            expect('"');
+            int start = pos;
+            stringEscaped = false;
+            while (pos < end) {
+                byte c = b[pos];
+                if (c == '"') {
+                    stringEnd = pos++;
+                    return start;
+                }
+                if (c == '\\') {
+                    stringEscaped = true;
+                    pos++;
+                }
+                pos++;
+            }
+            throw malformed();
+        }
+
+        boolean rawEquals(int start, byte[] literal) {
+            return !stringEscaped && Arrays.equals(b, start, stringEnd, literal, 0, literal.length);
+        }
+
+        String readNullableString() {
+            if (peek() == 'n') {
+                expectLiteral("null");
+                return null;
+            }
+            if (peek() != '"') {
+                throw new MalformedJwtException("JWT sub claim must be a string.");
+            }
+            int start = readString();
+            String raw = new String(b, start, stringEnd - start, StandardCharsets.UTF_8);
+            return stringEscaped ? unescape(raw) : raw;
+        }
+
+        Long readUserId() {
+            byte c = peek();
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                return readLong();
+            }
+            if (c == '"') {
+                String value = readNullableString();
+                try {
+                    return Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            skipValue();
+            return null;
+        }
+
+        long readLong() {
+            byte c = peek();
+            int start = pos;
+            boolean negative = c == '-';
+            if (negative) {
+                pos++;
+            }
+            long value = 0;
+            int digits = 0;
+            while (pos < end && b[pos] >= '0' && b[pos] <= '9') {
+                if (++digits > 18) {
+                    break;
+                }
+                value = value * 10 + (b[pos++] - '0');
+            }
+            if (digits == 0) {
+                throw new MalformedJwtException("JWT time claims must be numeric.");
+            }
+            if (pos < end && (b[pos] == '.' || b[pos] == 'e' || b[pos] == 'E' || (b[pos] >= '0' && b[pos] <= '9'))) {
+                // Fractional, exponent or very long numbers are not produced by jjwt; take the slow path.
+                while (pos < end && "+-.eE0123456789".indexOf(b[pos]) >= 0) {
+                    pos++;
+                }
+                try {
+                    return (long) Double.parseDouble(new String(b, start, pos - start, StandardCharsets.US_ASCII));
+                } catch (NumberFormatException e) {
+                    throw malformed();
+                }
+            }
+            return negative ? -value : value;
+        }
+
+        void skipValue() {
+            byte c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                int depth = 0;
+                do {
+                    c = b[pos];
+                    if (c == '"') {
+                        readString();
+                        continue;
+                    }
+                    if (c == '{' || c == '[') {
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        depth--;
+                    }
+                    pos++;
+                } while (depth > 0 && pos < end);
+                if (depth != 0) {
+                    throw malformed();
+                }
+            } else {
+                while (pos < end && b[pos] != ',' && b[pos] != '}' && b[pos] != ']'
+                        && b[pos] != ' ' && b[pos] != '\t' && b[pos] != '\n' && b[pos] != '\r') {
+                    pos++;
+                }
+            }
+        }
+
+        private void expectLiteral(String literal) {
+            for (int i = 0; i < literal.length(); i++) {
+                if (pos >= end || b[pos++] != literal.charAt(i)) {
+                    throw malformed();
+                }
+            }
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw malformed();
+            }
+            pos++;
+        }
+
+        private void skipWhitespace() {
+            while (pos < end && (b[pos] == ' ' || b[pos] == '\t' || b[pos] == '\n' || b[pos] == '\r')) {
+                pos++;
+            }
+        }
+
+        private static String unescape(String raw) {
+            StringBuilder sb = new StringBuilder(raw.length());
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (++i >= raw.length()) {
+                    throw malformed();
+                }
+                char e = raw.charAt(i);
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append(e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (i + 4 >= raw.length()) {
+                            throw malformed();
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(raw, i + 1, i + 5, 16));
+                        } catch (NumberFormatException ex) {
+                            throw malformed();
+                        }
+                        i += 4;
+                    }
+                    default -> throw malformed();
+                }
+            }
+            return sb.toString();
+        }
+
+        private static MalformedJwtException malformed() {
+            return new MalformedJwtException("JWT payload is not a valid JSON object.");
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.example.userservice.util;
 
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.util.Date;
+import java.time.Instant;
 
 @Component
 public class JwtUtil {
@@ -16,37 +15,28 @@ public class JwtUtil {
     
     @Value("${jwt.expiration:86400000}")
     private int expiration;
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+
+    // Keyed with the secret once; its pooled Macs are shared by all request threads.
+    private Hs256JwtCodec codec;
+
+    @PostConstruct
+    void init() {
+        this.codec = new Hs256JwtCodec(secret.getBytes());
     }
     
     // Include both subject (username) and a numeric userId claim so other services can extract user id.
     public String generateToken(String username, Long userId) {
-        return Jwts.builder()
-                .setSubject(username)
-                .claim("userId", userId)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+        long now = System.currentTimeMillis();
+        return codec.sign(username, userId, now / 1000, (now + expiration) / 1000);
     }
     
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return codec.verify(token).getSubject();
     }
     
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            codec.verify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -55,12 +45,8 @@ public class JwtUtil {
     
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getExpiration().before(new Date());
+            Instant expiresAt = codec.verify(token).getExpiresAt();
+            return expiresAt != null && expiresAt.isBefore(Instant.now());
         } catch (JwtException | IllegalArgumentException e) {
             return true;
         }
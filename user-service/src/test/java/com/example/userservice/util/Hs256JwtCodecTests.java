@@ -0,0 +1,86 @@
+package com.example.userservice.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Hs256JwtCodecTests {
+
+    private static final byte[] SECRET = "Xc7aKc5h5mHqC2o5hnbxMSp9O9W5hZ8zQ0bnzVJ+5sr3jH/4CflThYqRAG9Xk7zi".getBytes();
+
+    private final SecretKey key = Keys.hmacShaKeyFor(SECRET);
+    private final JwtParser jjwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+    private final Hs256JwtCodec codec = new Hs256JwtCodec(SECRET);
+
+    private String jjwtToken(String subject, Long userId, long iat, long exp) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim("userId", userId)
+                .setIssuedAt(new Date(iat * 1000))
+                .setExpiration(new Date(exp * 1000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Test
+    void signsExactlyWhatJjwtSigns() {
+        long now = System.currentTimeMillis() / 1000;
+        for (String subject : new String[] {"johndoe", "quote\"back\\slash\nline", "jöhn € 😀", "lone \uD83D"}) {
+            String token = codec.sign(subject, 42L, now, now + 3600);
+            assertThat(token).isEqualTo(jjwtToken(subject, 42L, now, now + 3600));
+            assertThat(codec.verify(token).getSubject()).isEqualTo(subject);
+        }
+    }
+
+    @Test
+    void jjwtAcceptsCodecTokens() {
+        long now = System.currentTimeMillis() / 1000;
+        Claims claims = jjwtParser.parseClaimsJws(codec.sign("johndoe", 7L, now, now + 60)).getBody();
+
+        assertThat(claims.getSubject()).isEqualTo("johndoe");
+        assertThat(((Number) claims.get("userId")).longValue()).isEqualTo(7L);
+        assertThat(claims.getExpiration()).isEqualTo(new Date((now + 60) * 1000));
+    }
+
+    @Test
+    void codecAcceptsJjwtTokens() {
+        long now = System.currentTimeMillis() / 1000;
+        Hs256JwtCodec.DecodedToken decoded = codec.verify(jjwtToken("johndoe", 7L, now, now + 60));
+
+        assertThat(decoded.getSubject()).isEqualTo("johndoe");
+        assertThat(decoded.getUserId()).isEqualTo(7L);
+        assertThat(decoded.getExpiresAt().getEpochSecond()).isEqualTo(now + 60);
+    }
+
+    @Test
+    void rejectsTamperedForeignAndExpiredTokens() {
+        long now = System.currentTimeMillis() / 1000;
+        String token = codec.sign("johndoe", 7L, now, now + 60);
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A') + token.substring(signatureStart + 1);
+        String foreign = new Hs256JwtCodec("another-secret-that-is-at-least-256-bits-long".getBytes())
+                .sign("johndoe", 7L, now, now + 60);
+        String hs512 = Jwts.builder().setSubject("johndoe")
+                .signWith(Keys.hmacShaKeyFor(SECRET), SignatureAlgorithm.HS512).compact();
+
+        assertThatThrownBy(() -> codec.verify(tampered)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> codec.verify(foreign)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> codec.verify(hs512)).isInstanceOf(UnsupportedJwtException.class);
+        assertThatThrownBy(() -> codec.verify(jjwtToken("johndoe", 7L, now - 120, now - 60)))
+                .isInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> codec.verify("")).isInstanceOf(IllegalArgumentException.class);
+    }
+}